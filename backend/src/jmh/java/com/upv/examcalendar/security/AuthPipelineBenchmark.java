@@ -0,0 +1,118 @@
+package com.upv.examcalendar.security;
+
+import com.upv.examcalendar.config.SupabaseConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation benchmarks for the authentication pipeline.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec
+ * (allocation rates come from the default "-prof gc" in jmh.args).
+ *
+ * Each scenario is measured both through the full JwtAuthenticationFilter
+ * with mock servlet objects and through SupabaseJwtUtil alone.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthPipelineBenchmark {
+
+    private static final String ANON_KEY = "benchmark-anon-key";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({ "valid", "expired", "malformed", "anon", "missing" })
+    public String scenario;
+
+    private JwtAuthenticationFilter filter;
+    private SupabaseJwtUtil jwtUtil;
+    private SupabaseUserDetailsService userDetailsService;
+    private MockHttpServletRequest request;
+    private String credential;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SupabaseConfig supabaseConfig = new SupabaseConfig();
+        supabaseConfig.setAnonKey(ANON_KEY);
+
+        jwtUtil = TestTokens.newJwtUtil();
+        userDetailsService = new SupabaseUserDetailsService(jwtUtil);
+        filter = new JwtAuthenticationFilter(
+                jwtUtil,
+                userDetailsService,
+                new VerifiedTokenCache(meterRegistry, 10_000, 300),
+                // Never shed: measure the negative cache path, not the 429 path
+                new InvalidTokenGuard(meterRegistry, 5_000, 60, Integer.MAX_VALUE, 60),
+                new AnonKeyMatcher(supabaseConfig),
+                new SessionRevocationService(null, false, "revoked_sessions", 10, 3900),
+                new AuthTelemetry(meterRegistry, 0.1, 5, 15));
+
+        credential = switch (scenario) {
+            case "valid" -> TestTokens.validUserToken();
+            case "expired" -> TestTokens.expiredUserToken();
+            case "malformed" -> "eyJhbGciOiJIUzI1NiJ9.not-json.signature";
+            case "anon" -> ANON_KEY;
+            default -> null;
+        };
+
+        request = new MockHttpServletRequest("GET", "/api/exams");
+        request.setRemoteAddr("10.0.0.1");
+        if (credential != null) {
+            if ("anon".equals(scenario)) {
+                request.addHeader("apikey", credential);
+            } else {
+                request.addHeader("Authorization", "Bearer " + credential);
+            }
+        }
+    }
+
+    /**
+     * Full filter with caches, as a request sees it in steady state.
+     */
+    @Benchmark
+    public void filter(Blackhole blackhole) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Parse and verify only, bypassing every cache.
+     */
+    @Benchmark
+    public VerifiedToken verifyToken() {
+        return credential != null ? jwtUtil.verifyToken(credential) : null;
+    }
+
+    /**
+     * Verify plus user details construction, bypassing every cache.
+     */
+    @Benchmark
+    public SupabaseUserDetails loadUserByToken() {
+        return credential != null ? userDetailsService.loadUserByToken(credential) : null;
+    }
+}
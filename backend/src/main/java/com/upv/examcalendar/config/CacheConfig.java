@@ -51,7 +51,7 @@ public class CacheConfig {
     public CacheManager searchCacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(mediumTermCacheBuilder());
-        cacheManager.setCacheNames(Arrays.asList("examSearch", "examsByMultipleCriteria", "currentAcademicPeriod"));
+        cacheManager.setCacheNames(Arrays.asList("examsByMultipleCriteria", "currentAcademicPeriod"));
         return cacheManager;
     }
 
@@ -0,0 +1,66 @@
+package com.upv.examcalendar.controller;
+
+import com.upv.examcalendar.dto.ApiResponse;
+import com.upv.examcalendar.dto.TokenIntrospectionDto;
+import com.upv.examcalendar.dto.TokenIntrospectionRequest;
+import com.upv.examcalendar.security.TokenIntrospectionService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admin endpoints for internal jobs (ICS feed builders, notification workers).
+ * Requires service role.
+ */
+@RestController
+@RequestMapping("/api/admin/tokens")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class AdminTokenController {
+
+    private final TokenIntrospectionService introspectionService;
+
+    /**
+     * Verifies a batch of user tokens in one round trip.
+     * Returns the verified claims or the rejection reason for each token,
+     * in request order.
+     * 
+     * @param request Tokens to introspect (max 500)
+     * @return Introspection results
+     */
+    @PostMapping("/introspect")
+    @PreAuthorize("hasRole('SERVICE')")
+    @Timed(value = "admin.tokens.introspect", description = "Time taken to introspect a batch of tokens")
+    public ResponseEntity<ApiResponse<List<TokenIntrospectionDto>>> introspect(
+            @Valid @RequestBody TokenIntrospectionRequest request) {
+        try {
+            List<TokenIntrospectionDto> results = introspectionService.introspect(request.getTokens());
+            long active = results.stream().filter(TokenIntrospectionDto::isActive).count();
+
+            log.debug("Introspected {} tokens, {} active", results.size(), active);
+
+            return ResponseEntity.ok(ApiResponse.<List<TokenIntrospectionDto>>builder()
+                    .success(true)
+                    .message("Tokens introspected")
+                    .data(results)
+                    .count(results.size())
+                    .build());
+
+        } catch (Exception e) {
+            log.error("Error introspecting tokens: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.<List<TokenIntrospectionDto>>builder()
+                            .success(false)
+                            .message("Error introspecting tokens: " + e.getMessage())
+                            .build());
+        }
+    }
+}
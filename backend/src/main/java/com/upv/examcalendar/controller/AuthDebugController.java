@@ -0,0 +1,74 @@
+package com.upv.examcalendar.controller;
+
+import com.upv.examcalendar.dto.ApiResponse;
+import com.upv.examcalendar.security.AuthTelemetry;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * Runtime switch for full authentication logging on a single user ID or
+ * client address. Targets expire on their own (supabase.auth.telemetry.debug-ttl-minutes).
+ * Requires service role.
+ */
+@RestController
+@RequestMapping("/api/admin/auth-debug")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class AuthDebugController {
+
+    private final AuthTelemetry telemetry;
+
+    /**
+     * Lists the current debug targets.
+     *
+     * @return User IDs and client addresses with full auth logging
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('SERVICE')")
+    public ResponseEntity<ApiResponse<Set<String>>> getTargets() {
+        Set<String> targets = telemetry.getDebugTargets();
+        return ResponseEntity.ok(ApiResponse.<Set<String>>builder()
+                .success(true)
+                .message("Auth debug targets")
+                .data(targets)
+                .count(targets.size())
+                .build());
+    }
+
+    /**
+     * Enables full auth logging for a user ID or client address.
+     *
+     * @param target User ID (sub claim) or client IP
+     * @return Current debug targets
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('SERVICE')")
+    public ResponseEntity<ApiResponse<Set<String>>> enable(
+            @RequestParam @NotBlank @Size(max = 100) String target) {
+        telemetry.enableDebug(target.trim());
+        return getTargets();
+    }
+
+    /**
+     * Disables full auth logging for a user ID or client address.
+     *
+     * @param target User ID (sub claim) or client IP
+     * @return Current debug targets
+     */
+    @DeleteMapping
+    @PreAuthorize("hasRole('SERVICE')")
+    public ResponseEntity<ApiResponse<Set<String>>> disable(
+            @RequestParam @NotBlank @Size(max = 100) String target) {
+        telemetry.disableDebug(target.trim());
+        return getTargets();
+    }
+}
@@ -1,9 +1,16 @@
 package com.upv.examcalendar.controller;
 
 import com.upv.examcalendar.dto.ApiResponse;
+import com.upv.examcalendar.dto.CursorPageDto;
+import com.upv.examcalendar.dto.ExamClashesDto;
 import com.upv.examcalendar.dto.ExamDto;
+import com.upv.examcalendar.dto.ExamFacetsDto;
+import com.upv.examcalendar.dto.ExamSuggestionDto;
 import com.upv.examcalendar.dto.ExamSummaryDto;
+import com.upv.examcalendar.service.ExamCursor;
+import com.upv.examcalendar.service.ExamFacetIndex;
 import com.upv.examcalendar.service.ExamService;
+import com.upv.examcalendar.service.ExamSnapshotUnavailableException;
 import com.upv.examcalendar.security.SupabaseUserDetails;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +21,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -22,10 +31,14 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * REST Controller for Exam entities mapped to ETSINF table.
@@ -110,6 +123,133 @@ public class ExamController {
                 }
         }
 
+        /**
+         * Get all exams as keyset-paginated slices in date order, for infinite
+         * scroll. Deep slices cost the same as the first one, and exams added
+         * meanwhile never shift rows between slices.
+         * Accessible to all users.
+         * 
+         * @param cursor Opaque next/prev cursor from a previous slice (optional)
+         * @param size   Slice size (default: 20, max: 100)
+         * @return Slice of exam summaries with next and prev cursors
+         */
+        @GetMapping("/scroll")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.scrollAll", description = "Time taken to get a keyset slice of exams")
+        public ResponseEntity<ApiResponse<CursorPageDto<ExamSummaryDto>>> scrollAllExams(
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") @Min(1) int size) {
+                int limit = Math.min(size, 100);
+                return scrollResponse(cursor, position -> examService.scrollAllExams(position, limit),
+                                "Exams retrieved successfully");
+        }
+
+        /**
+         * Get exams of a degree as keyset-paginated slices in date order.
+         * Accessible to all users.
+         * 
+         * @param degree Degree name
+         * @param cursor Opaque next/prev cursor from a previous slice (optional)
+         * @param size   Slice size (default: 20, max: 100)
+         * @return Slice of exam summaries with next and prev cursors
+         */
+        @GetMapping("/degree/{degree}/scroll")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.scrollByDegree", description = "Time taken to get a keyset slice of a degree")
+        public ResponseEntity<ApiResponse<CursorPageDto<ExamSummaryDto>>> scrollExamsByDegree(
+                        @PathVariable String degree,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") @Min(1) int size) {
+                int limit = Math.min(size, 100);
+                return scrollResponse(cursor, position -> examService.scrollExamsByDegree(degree, position, limit),
+                                "Exams retrieved for degree: " + degree);
+        }
+
+        /**
+         * Get exams whose subject contains a term as keyset-paginated slices in
+         * date order.
+         * Accessible to all users.
+         * 
+         * @param subject Subject name (partial match)
+         * @param cursor  Opaque next/prev cursor from a previous slice (optional)
+         * @param size    Slice size (default: 20, max: 100)
+         * @return Slice of exam summaries with next and prev cursors
+         */
+        @GetMapping("/subject/{subject}/scroll")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.scrollBySubject", description = "Time taken to get a keyset slice of a subject")
+        public ResponseEntity<ApiResponse<CursorPageDto<ExamSummaryDto>>> scrollExamsBySubject(
+                        @PathVariable String subject,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") @Min(1) int size) {
+                int limit = Math.min(size, 100);
+                return scrollResponse(cursor, position -> examService.scrollExamsBySubject(subject, position, limit),
+                                "Exams retrieved for subject: " + subject);
+        }
+
+        /**
+         * Search exams as keyset-paginated slices in date order.
+         * Accessible to all users.
+         * 
+         * @param searchTerm Search term
+         * @param cursor     Opaque next/prev cursor from a previous slice (optional)
+         * @param size       Slice size (default: 20, max: 100)
+         * @return Slice of matching exam summaries with next and prev cursors
+         */
+        @GetMapping("/search/scroll")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.scrollSearch", description = "Time taken to get a keyset slice of search results")
+        public ResponseEntity<ApiResponse<CursorPageDto<ExamSummaryDto>>> scrollSearch(
+                        @RequestParam(value = "q") String searchTerm,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") @Min(1) int size) {
+                int limit = Math.min(size, 100);
+                return scrollResponse(cursor, position -> examService.scrollSearch(searchTerm, position, limit),
+                                "Search completed successfully");
+        }
+
+        /**
+         * Decodes the cursor and wraps a keyset slice in the standard response.
+         * A cursor that does not decode is a bad request, not a server error.
+         */
+        private ResponseEntity<ApiResponse<CursorPageDto<ExamSummaryDto>>> scrollResponse(String cursor,
+                        Function<ExamCursor, CursorPageDto<ExamSummaryDto>> read, String message) {
+                ExamCursor position;
+                try {
+                        position = cursor != null && !cursor.isBlank() ? ExamCursor.decode(cursor.trim()) : null;
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest()
+                                        .body(ApiResponse.<CursorPageDto<ExamSummaryDto>>builder()
+                                                        .success(false)
+                                                        .message("Invalid cursor")
+                                                        .build());
+                }
+
+                try {
+                        CursorPageDto<ExamSummaryDto> slice = read.apply(position);
+
+                        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES)
+                                        .cachePublic()
+                                        .mustRevalidate();
+
+                        return ResponseEntity.ok()
+                                        .cacheControl(cacheControl)
+                                        .body(ApiResponse.<CursorPageDto<ExamSummaryDto>>builder()
+                                                        .success(true)
+                                                        .message(message)
+                                                        .data(slice)
+                                                        .build());
+
+                } catch (Exception e) {
+                        log.error("Error retrieving exam slice: {}", e.getMessage());
+                        return ResponseEntity.internalServerError()
+                                        .body(ApiResponse.<CursorPageDto<ExamSummaryDto>>builder()
+                                                        .success(false)
+                                                        .message("Error retrieving exams: " + e.getMessage())
+                                                        .build());
+                }
+        }
+
         /**
          * Get exam by ID (full details).
          * Accessible to authenticated users and anonymous users.
@@ -255,6 +395,10 @@ public class ExamController {
          * @param degree     Degree filter (optional)
          * @param year       Year filter (optional)
          * @param semester   Semester filter (optional)
+         * @param fuzzy      Tolerate typos in the search term, ranking by edit
+         *                   distance then upcoming date (default: false)
+         * @param highlight  Rank by relevance and return highlighted snippets
+         *                   (default: false)
          * @param page       Page number (default: 0)
          * @param size       Page size (default: 20)
          * @return Page of matching exam summaries
@@ -267,6 +411,8 @@ public class ExamController {
                         @RequestParam(value = "degree", required = false) String degree,
                         @RequestParam(value = "year", required = false) String year,
                         @RequestParam(value = "semester", required = false) String semester,
+                        @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy,
+                        @RequestParam(value = "highlight", defaultValue = "false") boolean highlight,
                         @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
                         @RequestParam(value = "size", defaultValue = "20") @Min(1) int size) {
 
@@ -275,7 +421,17 @@ public class ExamController {
                         Pageable pageable = PageRequest.of(page, size);
 
                         Page<ExamSummaryDto> exams;
-                        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+                        if (fuzzy && searchTerm != null && !searchTerm.trim().isEmpty()) {
+                                // Typo-tolerant in-memory search
+                                exams = examService.searchExamsFuzzy(searchTerm.trim(), pageable);
+                                log.debug("Fuzzy search for '{}' returned {} results", searchTerm,
+                                                exams.getTotalElements());
+                        } else if (highlight && searchTerm != null && !searchTerm.trim().isEmpty()) {
+                                // Ranked full-text search with snippets
+                                exams = examService.searchExamsHighlighted(searchTerm.trim(), pageable);
+                                log.debug("Highlighted search for '{}' returned {} results", searchTerm,
+                                                exams.getTotalElements());
+                        } else if (searchTerm != null && !searchTerm.trim().isEmpty()) {
                                 // Full-text search
                                 exams = examService.searchExams(searchTerm.trim(), pageable);
                                 log.debug("Full-text search for '{}' returned {} results", searchTerm,
@@ -309,6 +465,283 @@ public class ExamController {
                 }
         }
 
+        /**
+         * Filter sidebar endpoint: exams matching a partial selection plus the
+         * number of matches for every school, degree, year and semester value.
+         * Replaces a search call plus separate distinct-value lookups.
+         * Accessible to all users.
+         * 
+         * @param school   School filter (optional)
+         * @param degree   Degree filter (optional)
+         * @param year     Year filter (optional)
+         * @param semester Semester filter (optional)
+         * @param page     Page number (default: 0)
+         * @param size     Page size (default: 20)
+         * @return Matching page and facet counts
+         */
+        @GetMapping("/facets")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.facets", description = "Time taken to compute exam facets")
+        public ResponseEntity<ApiResponse<ExamFacetsDto>> getFacets(
+                        @RequestParam(value = "school", required = false) String school,
+                        @RequestParam(value = "degree", required = false) String degree,
+                        @RequestParam(value = "year", required = false) String year,
+                        @RequestParam(value = "semester", required = false) String semester,
+                        @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+                        @RequestParam(value = "size", defaultValue = "20") @Min(1) int size) {
+
+                try {
+                        size = Math.min(size, 100);
+                        Pageable pageable = PageRequest.of(page, size);
+
+                        Map<ExamFacetIndex.Facet, String> selection = new EnumMap<>(ExamFacetIndex.Facet.class);
+                        putIfPresent(selection, ExamFacetIndex.Facet.SCHOOL, school);
+                        putIfPresent(selection, ExamFacetIndex.Facet.DEGREE, degree);
+                        putIfPresent(selection, ExamFacetIndex.Facet.YEAR, year);
+                        putIfPresent(selection, ExamFacetIndex.Facet.SEMESTER, semester);
+
+                        ExamFacetsDto facets = examService.getFacets(selection, pageable);
+                        log.debug("Facet search {} returned {} results", selection, facets.getTotalElements());
+
+                        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES)
+                                        .cachePublic()
+                                        .mustRevalidate();
+
+                        return ResponseEntity.ok()
+                                        .cacheControl(cacheControl)
+                                        .body(ApiResponse.<ExamFacetsDto>builder()
+                                                        .success(true)
+                                                        .message("Facets computed successfully")
+                                                        .data(facets)
+                                                        .build());
+
+                } catch (ExamSnapshotUnavailableException e) {
+                        return snapshotUnavailable(e);
+                } catch (Exception e) {
+                        log.error("Error computing facets: {}", e.getMessage());
+                        return ResponseEntity.internalServerError()
+                                        .body(ApiResponse.<ExamFacetsDto>builder()
+                                                        .success(false)
+                                                        .message("Error computing facets: " + e.getMessage())
+                                                        .build());
+                }
+        }
+
+        /**
+         * Find clashes between the exams of a set of subjects.
+         * Accessible to all users.
+         * 
+         * @param subjects Subject names (optional, repeatable)
+         * @param acronyms Subject acronyms (optional, repeatable)
+         * @return Overlapping exam pairs and same-day groups
+         */
+        @GetMapping("/clashes")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.clashes", description = "Time taken to detect exam clashes")
+        public ResponseEntity<ApiResponse<ExamClashesDto>> getClashes(
+                        @RequestParam(value = "subjects", required = false) List<String> subjects,
+                        @RequestParam(value = "acronyms", required = false) List<String> acronyms) {
+
+                try {
+                        ExamClashesDto clashes = examService.getClashes(subjects, acronyms);
+                        log.debug("Clash check for {} subjects and {} acronyms found {} overlaps",
+                                        subjects != null ? subjects.size() : 0,
+                                        acronyms != null ? acronyms.size() : 0,
+                                        clashes.getOverlaps().size());
+
+                        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES)
+                                        .cachePublic()
+                                        .mustRevalidate();
+
+                        return ResponseEntity.ok()
+                                        .cacheControl(cacheControl)
+                                        .body(ApiResponse.<ExamClashesDto>builder()
+                                                        .success(true)
+                                                        .message("Clashes computed successfully")
+                                                        .data(clashes)
+                                                        .build());
+
+                } catch (ExamSnapshotUnavailableException e) {
+                        return snapshotUnavailable(e);
+                } catch (Exception e) {
+                        log.error("Error computing clashes: {}", e.getMessage());
+                        return ResponseEntity.internalServerError()
+                                        .body(ApiResponse.<ExamClashesDto>builder()
+                                                        .success(false)
+                                                        .message("Error computing clashes: " + e.getMessage())
+                                                        .build());
+                }
+        }
+
+        /**
+         * Type-ahead suggestions for the search box.
+         * Accessible to all users.
+         * 
+         * @param query Typed prefix of a subject, subject word, acronym or code
+         * @param limit Maximum number of suggestions (default: 8, max: 20)
+         * @return Suggestions, soonest upcoming exam first
+         */
+        @GetMapping("/autocomplete")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.autocomplete", description = "Time taken to compute search suggestions")
+        public ResponseEntity<ApiResponse<List<ExamSuggestionDto>>> getSuggestions(
+                        @RequestParam(value = "q", defaultValue = "") String query,
+                        @RequestParam(value = "limit", defaultValue = "8") @Min(1) int limit) {
+                try {
+                        List<ExamSuggestionDto> suggestions = examService.getSuggestions(query, Math.min(limit, 20));
+
+                        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES)
+                                        .cachePublic()
+                                        .mustRevalidate();
+
+                        return ResponseEntity.ok()
+                                        .cacheControl(cacheControl)
+                                        .body(ApiResponse.<List<ExamSuggestionDto>>builder()
+                                                        .success(true)
+                                                        .message("Suggestions retrieved successfully")
+                                                        .data(suggestions)
+                                                        .build());
+
+                } catch (ExamSnapshotUnavailableException e) {
+                        return snapshotUnavailable(e);
+                } catch (Exception e) {
+                        log.error("Error computing suggestions: {}", e.getMessage());
+                        return ResponseEntity.internalServerError()
+                                        .body(ApiResponse.<List<ExamSuggestionDto>>builder()
+                                                        .success(false)
+                                                        .message("Error computing suggestions: " + e.getMessage())
+                                                        .build());
+                }
+        }
+
+        /**
+         * Get the exams held in a room on a day.
+         * Accessible to all users.
+         * 
+         * @param room Room name
+         * @param date Day (yyyy-MM-dd)
+         * @return Exams in the room that day, in start order
+         */
+        @GetMapping("/rooms/occupancy")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.roomOccupancy", description = "Time taken to fetch room occupancy")
+        public ResponseEntity<ApiResponse<List<ExamDto>>> getRoomOccupancy(
+                        @RequestParam String room,
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+                try {
+                        List<ExamDto> exams = examService.getRoomOccupancy(room, date);
+                        log.debug("Room {} has {} exams on {}", room, exams.size(), date);
+
+                        return ResponseEntity.ok(ApiResponse.<List<ExamDto>>builder()
+                                        .success(true)
+                                        .message("Room occupancy retrieved successfully")
+                                        .data(exams)
+                                        .build());
+
+                } catch (ExamSnapshotUnavailableException e) {
+                        return snapshotUnavailable(e);
+                } catch (Exception e) {
+                        log.error("Error retrieving occupancy of room {}: {}", room, e.getMessage());
+                        return ResponseEntity.internalServerError()
+                                        .body(ApiResponse.<List<ExamDto>>builder()
+                                                        .success(false)
+                                                        .message("Error retrieving room occupancy: " + e.getMessage())
+                                                        .build());
+                }
+        }
+
+        /**
+         * Get the rooms with no exam during a time slot.
+         * Accessible to all users.
+         * 
+         * @param start Slot start
+         * @param end   Slot end, exclusive
+         * @return Free rooms
+         */
+        @GetMapping("/rooms/free")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.freeRooms", description = "Time taken to find free rooms")
+        public ResponseEntity<ApiResponse<List<String>>> getFreeRooms(
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+                try {
+                        List<String> rooms = examService.getFreeRooms(start, end);
+                        log.debug("{} rooms free between {} and {}", rooms.size(), start, end);
+
+                        return ResponseEntity.ok(ApiResponse.<List<String>>builder()
+                                        .success(true)
+                                        .message("Free rooms retrieved successfully")
+                                        .data(rooms)
+                                        .build());
+
+                } catch (ExamSnapshotUnavailableException e) {
+                        return snapshotUnavailable(e);
+                } catch (Exception e) {
+                        log.error("Error retrieving free rooms: {}", e.getMessage());
+                        return ResponseEntity.internalServerError()
+                                        .body(ApiResponse.<List<String>>builder()
+                                                        .success(false)
+                                                        .message("Error retrieving free rooms: " + e.getMessage())
+                                                        .build());
+                }
+        }
+
+        /**
+         * Find exams of different subjects booked into the same room at overlapping times.
+         * Accessible to all users.
+         * 
+         * @param from First day to check (optional)
+         * @param to   Last day to check (optional)
+         * @return Overlapping exam pairs by room
+         */
+        @GetMapping("/rooms/double-bookings")
+        @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
+        @Timed(value = "exam.controller.roomDoubleBookings", description = "Time taken to detect room double bookings")
+        public ResponseEntity<ApiResponse<Map<String, List<ExamClashesDto.Overlap>>>> getRoomDoubleBookings(
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                try {
+                        Map<String, List<ExamClashesDto.Overlap>> bookings = examService.getRoomDoubleBookings(from, to);
+                        log.debug("Found double bookings in {} rooms", bookings.size());
+
+                        return ResponseEntity.ok(ApiResponse.<Map<String, List<ExamClashesDto.Overlap>>>builder()
+                                        .success(true)
+                                        .message("Room double bookings retrieved successfully")
+                                        .data(bookings)
+                                        .build());
+
+                } catch (ExamSnapshotUnavailableException e) {
+                        return snapshotUnavailable(e);
+                } catch (Exception e) {
+                        log.error("Error detecting room double bookings: {}", e.getMessage());
+                        return ResponseEntity.internalServerError()
+                                        .body(ApiResponse.<Map<String, List<ExamClashesDto.Overlap>>>builder()
+                                                        .success(false)
+                                                        .message("Error detecting room double bookings: " + e.getMessage())
+                                                        .build());
+                }
+        }
+
+        /**
+         * 503 for index-only endpoints asked before the exam index has loaded,
+         * so clients retry instead of treating it as a server fault.
+         */
+        private static <T> ResponseEntity<ApiResponse<T>> snapshotUnavailable(ExamSnapshotUnavailableException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "30")
+                                .body(ApiResponse.<T>builder()
+                                                .success(false)
+                                                .message(e.getMessage())
+                                                .build());
+        }
+
+        private static void putIfPresent(Map<ExamFacetIndex.Facet, String> selection, ExamFacetIndex.Facet facet,
+                        String value) {
+                if (value != null && !value.trim().isEmpty()) {
+                        selection.put(facet, value.trim());
+                }
+        }
+
         /**
          * Get exams by year and semester.
          * Accessible to all users.
@@ -347,13 +780,17 @@ public class ExamController {
          * Get upcoming exams.
          * Accessible to all users.
          * 
+         * @param limit Return only the next N exams (optional, max: 100)
          * @return List of upcoming exams
          */
         @GetMapping("/upcoming")
         @PreAuthorize("hasAnyRole('ANONYMOUS', 'AUTHENTICATED', 'SERVICE') or permitAll()")
-        public ResponseEntity<ApiResponse<List<ExamDto>>> getUpcomingExams() {
+        public ResponseEntity<ApiResponse<List<ExamDto>>> getUpcomingExams(
+                        @RequestParam(value = "limit", required = false) @Min(1) Integer limit) {
                 try {
-                        List<ExamDto> exams = examService.getUpcomingExams();
+                        List<ExamDto> exams = limit != null
+                                        ? examService.getUpcomingExams(Math.min(limit, 100))
+                                        : examService.getUpcomingExams();
 
                         log.debug("Retrieved {} upcoming exams", exams.size());
 
@@ -0,0 +1,26 @@
+package com.upv.examcalendar.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. Carries only the items and the
+ * opaque cursors to the neighbouring slices; there is no total count, page
+ * number or sort metadata. A missing cursor means there is nothing further
+ * in that direction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String next;
+    private String prev;
+}
@@ -0,0 +1,45 @@
+package com.upv.examcalendar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Clash report for a set of subjects: pairs of exams whose time spans
+ * overlap, and days on which more than one of the subjects has an exam.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExamClashesDto {
+    private List<Overlap> overlaps;
+    private List<SameDay> sameDay;
+
+    /**
+     * Two exams whose time spans overlap, earlier start first.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Overlap {
+        private ExamDto first;
+        private ExamDto second;
+    }
+
+    /**
+     * Exams of different subjects held on the same day (yyyy-MM-dd).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SameDay {
+        private String date;
+        private List<ExamDto> exams;
+    }
+}
@@ -0,0 +1,26 @@
+package com.upv.examcalendar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter sidebar response: one page of matching exams plus, for every facet
+ * (school, degree, year, semester), the number of matches per value given
+ * the selection on the other facets.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExamFacetsDto {
+    private List<ExamSummaryDto> exams;
+    private long totalElements;
+    private int page;
+    private int size;
+    private Map<String, Map<String, Integer>> facets;
+}
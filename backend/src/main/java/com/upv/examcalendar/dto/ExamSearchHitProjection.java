@@ -0,0 +1,8 @@
+package com.upv.examcalendar.dto;
+
+/**
+ * Full-text search result with a highlighted snippet of the matched text.
+ */
+public interface ExamSearchHitProjection extends ExamProjection {
+    String getHeadline();
+}
@@ -0,0 +1,25 @@
+package com.upv.examcalendar.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One search box suggestion: a subject with its acronym, code and next
+ * upcoming exam. Null fields are omitted to keep per-keystroke payloads small.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExamSuggestionDto {
+    private String subject;
+    private String acronym;
+    private String code;
+    private LocalDateTime nextExam;
+}
@@ -1,5 +1,6 @@
 package com.upv.examcalendar.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
@@ -20,6 +21,13 @@ public class ExamSummaryDto {
     private String degree;
     private LocalDateTime date;
     private String room;
+    // Highlighted snippet of the matched text, only for highlighted searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String highlight;
+
+    public ExamSummaryDto(Long id, String subject, String degree, LocalDateTime date, String room) {
+        this(id, subject, degree, date, room, null);
+    }
 
     /**
      * Constructor for JPA projections
@@ -0,0 +1,45 @@
+package com.upv.examcalendar.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Introspection result for a single token, in request order.
+ * Carries the verified claims when active, otherwise the rejection reason.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionDto {
+
+    @JsonProperty("active")
+    private boolean active;
+
+    @JsonProperty("reason")
+    private String reason;
+
+    @JsonProperty("sub")
+    private String userId;
+
+    @JsonProperty("email")
+    private String email;
+
+    @JsonProperty("role")
+    private String role;
+
+    @JsonProperty("session_id")
+    private String sessionId;
+
+    @JsonProperty("aal")
+    private String aal;
+
+    // Epoch seconds, as in the JWT exp claim
+    @JsonProperty("exp")
+    private Long expiresAt;
+}
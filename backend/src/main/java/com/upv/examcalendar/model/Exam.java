@@ -49,6 +49,9 @@ public class Exam {
     @Column(name = "duration_minutes")
     private Integer durationMinutes;
 
+    @Column(name = "duration_day")
+    private String durationDay;
+
     @Column(name = "comment")
     private String comment;
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.upv.examcalendar.repository;
 
 import com.upv.examcalendar.dto.ExamProjection;
+import com.upv.examcalendar.dto.ExamSearchHitProjection;
 import com.upv.examcalendar.dto.ExamSummaryDto;
 import com.upv.examcalendar.model.Exam;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,11 +20,13 @@ import java.util.List;
  * Repository interface for Exam entities mapped to ETSINF table.
  * Extends JpaRepository for basic CRUD operations and adds custom query
  * methods with performance optimizations including caching and pagination.
+ * Keyset (cursor) listings compose their filters and seek predicates as
+ * specifications through JpaSpecificationExecutor.
  * 
  * Based on Spring Data JPA patterns and Supabase database integration.
  */
 @Repository
-public interface ExamRepository extends JpaRepository<Exam, Long> {
+public interface ExamRepository extends JpaRepository<Exam, Long>, JpaSpecificationExecutor<Exam> {
 
         /**
          * Legacy method for table name discovery.
@@ -43,7 +47,8 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
 
         /**
          * Finds exams by subject (case-insensitive partial match) with pagination.
-         * Uses full-text search optimization for PostgreSQL.
+         * Served by the pg_trgm GIN index on subject from
+         * db/exam_trigram_indexes.sql.
          */
         @Query(value = "SELECT id, subject, degree, exam_date as date, place as room " +
                         "FROM \"ETSINF\" WHERE subject ILIKE CONCAT('%', :subject, '%') " +
@@ -135,26 +140,62 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
                         Pageable pageable);
 
         /**
-         * Full-text search with PostgreSQL optimization and caching.
-         * Uses GIN index on tsvector for fast text search.
+         * Full-text search ranked by relevance.
+         * Matches against the stored search_vector column through its GIN index
+         * (db/exam_search_vector.sql), so only matching rows are read; ties in
+         * ts_rank fall back to date order. Results are cached by ExamSearchCache
+         * under the normalised query, whatever strategy answers it.
+         */
+        @Query(value = "SELECT e.id, e.subject, e.degree, e.exam_date as date, e.place as room " +
+                        "FROM \"ETSINF\" e, plainto_tsquery('spanish', public.f_unaccent(:searchTerm)) query " +
+                        "WHERE e.search_vector @@ query " +
+                        "ORDER BY ts_rank(e.search_vector, query) DESC, e.exam_date ASC, e.id ASC",
+                        countQuery = "SELECT count(*) FROM \"ETSINF\" " +
+                                        "WHERE search_vector @@ plainto_tsquery('spanish', public.f_unaccent(:searchTerm))",
+                        nativeQuery = true)
+        Page<ExamProjection> searchExamsOptimized(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+        /**
+         * Ranked full-text search that also returns a ts_headline snippet of
+         * subject and degree with the matched words in mark tags. ts_headline
+         * is only needed in the output, so PostgreSQL evaluates it after the
+         * LIMIT, for the rows of the page alone.
+         */
+        @Query(value = "SELECT e.id, e.subject, e.degree, e.exam_date as date, e.place as room, " +
+                        "ts_headline('spanish', COALESCE(e.subject, '') || ' - ' || COALESCE(e.degree, ''), query, " +
+                        "'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') as headline " +
+                        "FROM \"ETSINF\" e, plainto_tsquery('spanish', public.f_unaccent(:searchTerm)) query " +
+                        "WHERE e.search_vector @@ query " +
+                        "ORDER BY ts_rank(e.search_vector, query) DESC, e.exam_date ASC, e.id ASC",
+                        countQuery = "SELECT count(*) FROM \"ETSINF\" " +
+                                        "WHERE search_vector @@ plainto_tsquery('spanish', public.f_unaccent(:searchTerm))",
+                        nativeQuery = true)
+        Page<ExamSearchHitProjection> searchExamsHighlighted(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+        /**
+         * Accent- and case-insensitive substring search against the stored
+         * search_key column from db/exam_search_keys.sql, answered from its
+         * trigram index.
+         *
+         * @param foldedTerm Search term already folded with SearchKeys.fold
          */
-        @Cacheable(value = "examSearch", cacheManager = "searchCacheManager", key = "#searchTerm + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
         @Query(value = "SELECT id, subject, degree, exam_date as date, place as room " +
-                        "FROM \"ETSINF\" WHERE " +
-                        "to_tsvector('spanish', COALESCE(subject, '') || ' ' || COALESCE(degree, '')) " +
-                        "@@ plainto_tsquery('spanish', :searchTerm) " +
+                        "FROM \"ETSINF\" WHERE search_key LIKE CONCAT('%', :foldedTerm, '%') " +
                         "ORDER BY exam_date ASC", nativeQuery = true)
-        Page<ExamProjection> searchExamsOptimized(@Param("searchTerm") String searchTerm, Pageable pageable);
+        Page<ExamProjection> searchBySearchKey(@Param("foldedTerm") String foldedTerm, Pageable pageable);
 
         /**
-         * Fallback search for compatibility (less optimized but works without full-text
-         * index).
+         * Substring search over subject, acronym and degree, used when full-text
+         * search is unavailable. Plain ILIKE predicates, so with the pg_trgm GIN
+         * indexes from db/exam_trigram_indexes.sql PostgreSQL answers each one
+         * from a trigram index instead of scanning the table.
          */
-        @Query("SELECT e.id as id, e.subject as subject, e.degree as degree, e.date as date, e.room as room " +
-                        "FROM Exam e WHERE " +
-                        "LOWER(e.subject) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-                        "LOWER(e.degree) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-                        "ORDER BY e.date ASC")
+        @Query(value = "SELECT id, subject, degree, exam_date as date, place as room " +
+                        "FROM \"ETSINF\" WHERE " +
+                        "subject ILIKE CONCAT('%', :searchTerm, '%') OR " +
+                        "acronym ILIKE CONCAT('%', :searchTerm, '%') OR " +
+                        "degree ILIKE CONCAT('%', :searchTerm, '%') " +
+                        "ORDER BY exam_date ASC", nativeQuery = true)
         Page<ExamProjection> searchExams(@Param("searchTerm") String searchTerm, Pageable pageable);
 
         /**
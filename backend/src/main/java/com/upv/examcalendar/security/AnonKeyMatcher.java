@@ -0,0 +1,60 @@
+package com.upv.examcalendar.security;
+
+import com.upv.examcalendar.config.SupabaseConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recognises the public Supabase anon key without parsing it as a JWT.
+ *
+ * The frontend sends the anon key on every anonymous read. Instead of running
+ * it through the JWT parser it is compared against the configured key and
+ * mapped to one shared, immutable anonymous {@link Authentication}, so this
+ * request class allocates nothing in the filter.
+ */
+@Component
+@Slf4j
+public class AnonKeyMatcher {
+
+    /**
+     * Shared authentication for requests carrying the anon key. Never mutate it
+     * (no setDetails): the same instance is placed in every anonymous context.
+     */
+    public static final Authentication ANONYMOUS = new AnonymousAuthenticationToken(
+            "supabase-anon-key",
+            "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+    private final char[] anonKey;
+
+    public AnonKeyMatcher(SupabaseConfig supabaseConfig) {
+        String configured = supabaseConfig.getAnonKey();
+        this.anonKey = configured != null && !configured.isBlank() ? configured.toCharArray() : null;
+        if (anonKey == null) {
+            log.info("No Supabase anon key configured; anon key fast path disabled");
+        }
+    }
+
+    /**
+     * Checks if a presented credential is the configured anon key.
+     * Runs in time independent of where the first mismatch is and allocates
+     * nothing; only the length (public for this key anyway) can short-circuit.
+     *
+     * @param credential The value from the Authorization or apikey header
+     * @return true if it is the anon key
+     */
+    public boolean matches(String credential) {
+        char[] expected = anonKey;
+        if (expected == null || credential == null || credential.length() != expected.length) {
+            return false;
+        }
+        int diff = 0;
+        for (int i = 0; i < expected.length; i++) {
+            diff |= expected[i] ^ credential.charAt(i);
+        }
+        return diff == 0;
+    }
+}
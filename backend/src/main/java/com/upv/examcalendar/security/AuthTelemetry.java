@@ -0,0 +1,197 @@
+package com.upv.examcalendar.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records authentication outcomes without logging on every request.
+ *
+ * Every outcome increments a pre-registered Micrometer counter
+ * ("auth.outcomes", tagged by result and reason or path). Rejections are
+ * additionally written as a sampled, rate-limited structured log line that
+ * reports how many lines were suppressed since the last one.
+ *
+ * Operators can switch on full per-request auth logging for a single user ID
+ * or client address at runtime (see AuthDebugController); targets expire on
+ * their own so a forgotten switch does not flood the logs. The hot path only
+ * looks targets up while any exist; the flag is recomputed whenever a target
+ * is removed, including by expiry.
+ */
+@Component
+@Slf4j
+public class AuthTelemetry {
+
+    /**
+     * How an accepted request was authenticated.
+     */
+    public enum AuthPath {
+        ANON_KEY,
+        CACHED,
+        VERIFIED
+    }
+
+    private final Map<TokenRejectionReason, Counter> rejectedCounters = new EnumMap<>(TokenRejectionReason.class);
+    private final Map<AuthPath, Counter> acceptedCounters = new EnumMap<>(AuthPath.class);
+    private final double sampleRate;
+    private final int maxLogsPerSecond;
+
+    private final AtomicLong windowStartMillis = new AtomicLong();
+    private final AtomicInteger logsInWindow = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    private final Cache<String, Boolean> debugTargets;
+    private volatile boolean debugActive;
+
+    public AuthTelemetry(
+            MeterRegistry meterRegistry,
+            @Value("${supabase.auth.telemetry.log-sample-rate:0.1}") double sampleRate,
+            @Value("${supabase.auth.telemetry.max-logs-per-second:5}") int maxLogsPerSecond,
+            @Value("${supabase.auth.telemetry.debug-ttl-minutes:15}") long debugTtlMinutes) {
+        this(meterRegistry, sampleRate, maxLogsPerSecond, debugTtlMinutes, Ticker.systemTicker());
+    }
+
+    AuthTelemetry(MeterRegistry meterRegistry, double sampleRate, int maxLogsPerSecond, long debugTtlMinutes,
+            Ticker ticker) {
+        for (TokenRejectionReason reason : TokenRejectionReason.values()) {
+            rejectedCounters.put(reason, Counter.builder("auth.outcomes")
+                    .description("Authentication outcomes by result and reason")
+                    .tag("result", "rejected")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        for (AuthPath path : AuthPath.values()) {
+            acceptedCounters.put(path, Counter.builder("auth.outcomes")
+                    .description("Authentication outcomes by result and reason")
+                    .tag("result", "accepted")
+                    .tag("reason", path.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.sampleRate = sampleRate;
+        this.maxLogsPerSecond = maxLogsPerSecond;
+        this.debugTargets = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(debugTtlMinutes, TimeUnit.MINUTES)
+                .ticker(ticker)
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener((String target, Boolean enabled, RemovalCause cause) -> updateDebugActive())
+                .build();
+    }
+
+    /**
+     * Records an accepted request.
+     *
+     * @param path   How it was authenticated
+     * @param user   The authenticated user, null for the anon key
+     * @param source Client address
+     */
+    public void recordAccepted(AuthPath path, SupabaseUserDetails user, String source) {
+        acceptedCounters.get(path).increment();
+        if (debugActive) {
+            String userId = user != null ? user.getUserId() : null;
+            if (isDebugTarget(source, userId)) {
+                log.info("auth_debug result=accepted path={} source={} user={} role={} session={}",
+                        path, source, userId, user != null ? user.getRole() : SupabaseJwtUtil.ANON_ROLE,
+                        user != null ? user.getSessionId() : null);
+            }
+        }
+    }
+
+    /**
+     * Records a rejected token.
+     *
+     * @param reason Why it was rejected
+     * @param source Client address
+     */
+    public void recordRejected(TokenRejectionReason reason, String source) {
+        rejectedCounters.get(reason).increment();
+
+        if (debugActive && isDebugTarget(source, null)) {
+            log.info("auth_debug result=rejected reason={} source={}", reason, source);
+            return;
+        }
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        if (!tryAcquireLogPermit()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        log.warn("auth_rejected reason={} source={} suppressed_since_last={}",
+                reason, source, suppressed.getAndSet(0));
+    }
+
+    /**
+     * Enables full auth logging for a user ID or client address.
+     */
+    public void enableDebug(String target) {
+        debugTargets.put(target, Boolean.TRUE);
+        synchronized (this) {
+            debugActive = true;
+        }
+        log.info("Auth debug logging enabled for {}", target);
+    }
+
+    /**
+     * Disables full auth logging for a user ID or client address.
+     */
+    public void disableDebug(String target) {
+        debugTargets.invalidate(target);
+        log.info("Auth debug logging disabled for {}", target);
+    }
+
+    /**
+     * Current debug targets.
+     */
+    public Set<String> getDebugTargets() {
+        return Set.copyOf(debugTargets.asMap().keySet());
+    }
+
+    boolean isDebugActive() {
+        return debugActive;
+    }
+
+    /**
+     * Runs after every removal, explicit or by expiry, on the removing thread.
+     * Reading the size under the same lock that enableDebug sets the flag
+     * under means a concurrent enable can never be overwritten with false.
+     */
+    private synchronized void updateDebugActive() {
+        debugActive = debugTargets.estimatedSize() > 0;
+    }
+
+    private boolean isDebugTarget(String source, String userId) {
+        return (source != null && debugTargets.getIfPresent(source) != null)
+                || (userId != null && debugTargets.getIfPresent(userId) != null);
+    }
+
+    /**
+     * Fixed one-second window limiter for rejection log lines.
+     */
+    private boolean tryAcquireLogPermit() {
+        long now = System.currentTimeMillis();
+        long windowStart = windowStartMillis.get();
+        if (now - windowStart >= 1000 && windowStartMillis.compareAndSet(windowStart, now)) {
+            logsInWindow.set(0);
+        }
+        return logsInWindow.incrementAndGet() <= maxLogsPerSecond;
+    }
+}
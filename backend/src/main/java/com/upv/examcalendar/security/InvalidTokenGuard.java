@@ -0,0 +1,153 @@
+package com.upv.examcalendar.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Protects the JWT parser from clients that loop with expired or garbage tokens.
+ *
+ * Keeps two small bounded structures:
+ * - a negative cache of recently rejected token digests, so a token that
+ * already failed verification is rejected again without parsing;
+ * - per-source failure counters over a fixed window, so a source that keeps
+ * sending bad tokens is shed with 429 before reaching the controllers.
+ *
+ * Only rejections caused by the token itself are cached and charged: a bad
+ * signature, expiry, malformed input or invalid claims fail the same way on
+ * every retry. UNSUPPORTED includes tokens signed with a key id missing from
+ * the JWKS, which are valid right after a key rotation, and ERROR covers
+ * failures such as a JWKS fetch outage; a retry of either must reach the
+ * parser again.
+ */
+@Component
+@Slf4j
+public class InvalidTokenGuard {
+
+    public static final String CACHE_NAME = "supabaseRejectedTokens";
+
+    // Rejections that hold on every retry of the same token
+    private static final Set<TokenRejectionReason> TOKEN_FAULTS = EnumSet.of(
+            TokenRejectionReason.MALFORMED,
+            TokenRejectionReason.BAD_SIGNATURE,
+            TokenRejectionReason.EXPIRED,
+            TokenRejectionReason.INVALID_ISSUER,
+            TokenRejectionReason.MISSING_ROLE,
+            TokenRejectionReason.MISSING_SUBJECT);
+
+    private final Cache<String, TokenRejectionReason> rejectedTokens;
+    private final Cache<String, AtomicInteger> failuresBySource;
+    private final int shedThreshold;
+    private final long windowSeconds;
+    private final Counter shedCounter;
+
+    public InvalidTokenGuard(
+            MeterRegistry meterRegistry,
+            @Value("${supabase.jwt.negative-cache.max-size:5000}") long maxRejectedTokens,
+            @Value("${supabase.jwt.negative-cache.ttl-seconds:60}") long rejectedTtlSeconds,
+            @Value("${supabase.jwt.shed.threshold:30}") int shedThreshold,
+            @Value("${supabase.jwt.shed.window-seconds:60}") long windowSeconds) {
+        this.rejectedTokens = Caffeine.newBuilder()
+                .maximumSize(maxRejectedTokens)
+                .expireAfterWrite(rejectedTtlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        // The window starts at a source's first failure; increments do not extend it
+        this.failuresBySource = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(windowSeconds, TimeUnit.SECONDS)
+                .build();
+        this.shedThreshold = shedThreshold;
+        this.windowSeconds = windowSeconds;
+        this.shedCounter = Counter.builder("auth.requests.shed")
+                .description("Requests rejected because their source sent too many invalid tokens")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, rejectedTokens, CACHE_NAME);
+    }
+
+    /**
+     * Checks if a token digest was rejected recently.
+     *
+     * @param digest Token digest from {@link VerifiedTokenCache#digest(String)}
+     * @return true if the token is known to be invalid
+     */
+    public boolean isKnownInvalid(String digest) {
+        return rejectedTokens.getIfPresent(digest) != null;
+    }
+
+    /**
+     * Returns why a token digest was rejected recently.
+     *
+     * @param digest Token digest from {@link VerifiedTokenCache#digest(String)}
+     * @return The original rejection reason, or null if the token is not known to be invalid
+     */
+    public TokenRejectionReason getRejectionReason(String digest) {
+        return rejectedTokens.getIfPresent(digest);
+    }
+
+    /**
+     * Records a token that failed verification and charges its source,
+     * unless the rejection may not hold on retry.
+     *
+     * @param digest Token digest
+     * @param reason Why the token was rejected
+     * @param source Client address
+     */
+    public void recordRejected(String digest, TokenRejectionReason reason, String source) {
+        if (!TOKEN_FAULTS.contains(reason)) {
+            return;
+        }
+        rejectedTokens.put(digest, reason);
+        recordFailure(source);
+    }
+
+    /**
+     * Charges one failure to a source.
+     *
+     * @param source Client address
+     */
+    public void recordFailure(String source) {
+        if (source == null) {
+            return;
+        }
+        int failures = failuresBySource.get(source, key -> new AtomicInteger()).incrementAndGet();
+        if (failures == shedThreshold) {
+            log.warn("Shedding requests from {} after {} invalid tokens in {}s", source, failures, windowSeconds);
+        }
+    }
+
+    /**
+     * Checks if requests from a source should be shed, counting the shed request.
+     *
+     * @param source Client address
+     * @return true if the source exceeded the failure threshold in the current window
+     */
+    public boolean shouldShed(String source) {
+        if (source == null) {
+            return false;
+        }
+        AtomicInteger failures = failuresBySource.getIfPresent(source);
+        if (failures != null && failures.get() >= shedThreshold) {
+            shedCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Seconds a shed client should wait before retrying.
+     */
+    public long getRetryAfterSeconds() {
+        return windowSeconds;
+    }
+}
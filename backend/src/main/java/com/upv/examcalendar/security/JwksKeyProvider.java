@@ -0,0 +1,192 @@
+package com.upv.examcalendar.security;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory JWKS key set for Supabase asymmetric signing keys (ES256/RS256).
+ *
+ * Public keys are held in an immutable map by kid that is swapped atomically
+ * on refresh. Refreshes run on a background thread, either on a fixed
+ * schedule or when a token references an unknown kid, so request threads
+ * never wait on a key fetch.
+ *
+ * The key set can be loaded from an HTTP(S) URL (Supabase publishes it at
+ * /auth/v1/.well-known/jwks.json) or from a local file: URI.
+ */
+@Component
+@Slf4j
+public class JwksKeyProvider {
+
+    // Do not hammer the JWKS endpoint when a client keeps sending a bogus kid
+    private static final long MIN_REFRESH_INTERVAL_MILLIS = 30_000;
+
+    private final RestTemplate restTemplate;
+    private final String jwksUri;
+    private final long refreshIntervalSeconds;
+
+    private volatile Map<String, Key> keys = Map.of();
+    private volatile long lastRefreshAttempt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    public JwksKeyProvider(
+            RestTemplate restTemplate,
+            @Value("${supabase.jwt.jwks-uri:}") String jwksUri,
+            @Value("${supabase.jwt.jwks-refresh-seconds:600}") long refreshIntervalSeconds) {
+        this.restTemplate = restTemplate;
+        this.jwksUri = jwksUri;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!isEnabled()) {
+            log.info("No JWKS URI configured; only HMAC-signed tokens will be accepted");
+            return;
+        }
+
+        // Initial load happens on the startup thread, before any request is served
+        refresh();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalSeconds, refreshIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks if asymmetric verification is configured.
+     *
+     * @return true if a JWKS URI is set
+     */
+    public boolean isEnabled() {
+        return jwksUri != null && !jwksUri.isBlank();
+    }
+
+    /**
+     * Looks up a public key by kid without blocking.
+     * An unknown kid schedules a background refresh and returns null, so the
+     * current token is rejected and a retry after rotation succeeds.
+     *
+     * @param kid The key ID from the JWS header
+     * @return The public key, or null if unknown
+     */
+    public Key getKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        Key key = keys.get(kid);
+        if (key == null && isEnabled()) {
+            log.debug("Unknown JWKS kid {}, scheduling refresh", kid);
+            requestRefresh();
+        }
+        return key;
+    }
+
+    /**
+     * Number of keys currently loaded.
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Schedules an asynchronous refresh unless one ran recently or is already
+     * queued, so a burst of unknown kids queues a single fetch.
+     */
+    void requestRefresh() {
+        if (scheduler == null || System.currentTimeMillis() - lastRefreshAttempt < MIN_REFRESH_INTERVAL_MILLIS) {
+            return;
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                refreshQueued.set(false);
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * Fetches and parses the key set, replacing the current keys on success.
+     * Failures keep the previous keys so a flaky endpoint cannot lock users out.
+     */
+    void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lastRefreshAttempt = System.currentTimeMillis();
+            Map<String, Key> loaded = parse(fetch());
+            if (loaded.isEmpty()) {
+                log.warn("JWKS at {} contained no usable public keys; keeping {} existing keys", jwksUri, keys.size());
+                return;
+            }
+            keys = loaded;
+            log.info("Loaded {} JWKS signing keys from {}", loaded.size(), jwksUri);
+        } catch (Exception e) {
+            log.warn("Failed to refresh JWKS from {}: {}", jwksUri, e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private String fetch() throws Exception {
+        if (jwksUri.startsWith("file:")) {
+            return Files.readString(Path.of(URI.create(jwksUri)));
+        }
+        return restTemplate.getForObject(jwksUri, String.class);
+    }
+
+    /**
+     * Parses a JWKS document into public keys by kid.
+     *
+     * @param json The JWKS JSON
+     * @return Immutable map of kid to public key
+     */
+    static Map<String, Key> parse(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        Map<String, Key> parsed = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            Key key = jwk.toKey();
+            // Only public keys: a shared secret in a JWKS would defeat the point
+            if (jwk.getId() != null && key instanceof PublicKey) {
+                parsed.put(jwk.getId(), key);
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -8,7 +8,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,8 +15,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.ArrayList;
 
 /**
  * JWT Authentication Filter for processing Supabase JWT tokens.
@@ -33,6 +30,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final SupabaseJwtUtil jwtUtil;
     private final SupabaseUserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final InvalidTokenGuard invalidTokenGuard;
+    private final AnonKeyMatcher anonKeyMatcher;
+    private final SessionRevocationService revocationService;
+    private final AuthTelemetry telemetry;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -46,40 +48,128 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = extractJwtFromRequest(request);
+            String source = clientAddress(request);
+
+            if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Public anon key: shared anonymous authentication, no JWT parsing
+                if (anonKeyMatcher.matches(jwt)) {
+                    SecurityContextHolder.getContext().setAuthentication(AnonKeyMatcher.ANONYMOUS);
+                    telemetry.recordAccepted(AuthTelemetry.AuthPath.ANON_KEY, null, source);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String userId = jwtUtil.getUserIdFromToken(jwt);
-                String role = jwtUtil.getRoleFromToken(jwt);
-                String email = jwtUtil.getEmailFromToken(jwt);
-
-                if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Create authentication token
-                    SupabaseUserDetails userDetails = userDetailsService.loadUserByToken(jwt);
+                // Repeat requests with the same token skip verification entirely
+                String digest = VerifiedTokenCache.digest(jwt);
+                SupabaseUserDetails userDetails = tokenCache.getByDigest(digest);
+                AuthTelemetry.AuthPath authPath = AuthTelemetry.AuthPath.CACHED;
 
-                    if (userDetails != null) {
-                        // Create authorities based on Supabase role
-                        List<SimpleGrantedAuthority> authorities = createAuthorities(role);
+                if (userDetails == null) {
+                    if (invalidTokenGuard.shouldShed(source)) {
+                        writeTooManyRequests(response);
+                        return;
+                    }
+                    userDetails = loadAndCache(jwt, digest, source);
+                    authPath = AuthTelemetry.AuthPath.VERIFIED;
+                }
 
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                authorities);
+                // Signed-out sessions: in-memory Bloom filter check, no database round trip
+                if (userDetails != null && revocationService.isRevoked(userDetails.getSessionId())) {
+                    telemetry.recordRejected(TokenRejectionReason.REVOKED, source);
+                    userDetails = null;
+                }
 
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities());
 
-                        log.debug("Successfully authenticated user: {} with role: {}", email, role);
-                    }
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    telemetry.recordAccepted(authPath, userDetails, source);
                 }
             }
         } catch (Exception e) {
-            log.error("Cannot set user authentication: {}", e.getMessage());
+            telemetry.recordRejected(TokenRejectionReason.ERROR, clientAddress(request));
+            log.debug("Cannot set user authentication: {}", e.getMessage());
             // Don't throw exception - let the request continue but without authentication
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Verifies a token that is not yet cached and caches the outcome.
+     * Tokens rejected recently are refused without parsing and counted under
+     * their original rejection reason.
+     * 
+     * @param jwt    The raw JWT
+     * @param digest The token digest
+     * @param source The client address
+     * @return SupabaseUserDetails, or null if the token is invalid
+     */
+    private SupabaseUserDetails loadAndCache(String jwt, String digest, String source) {
+        TokenRejectionReason knownReason = invalidTokenGuard.getRejectionReason(digest);
+        if (knownReason != null) {
+            invalidTokenGuard.recordFailure(source);
+            telemetry.recordRejected(knownReason, source);
+            return null;
+        }
+
+        // Parse and verify once; everything below reuses the verified claims
+        TokenVerification verification = jwtUtil.verify(jwt);
+        VerifiedToken verifiedToken = verification.getVerifiedToken();
+        TokenRejectionReason reason = verification.getReason();
+        SupabaseUserDetails userDetails = null;
+        if (verifiedToken != null) {
+            if (verifiedToken.getUserId() == null) {
+                reason = TokenRejectionReason.MISSING_SUBJECT;
+            } else {
+                userDetails = userDetailsService.loadUserByVerifiedToken(verifiedToken);
+            }
+        }
+
+        if (userDetails == null) {
+            if (reason == null) {
+                reason = TokenRejectionReason.ERROR;
+            }
+            invalidTokenGuard.recordRejected(digest, reason, source);
+            telemetry.recordRejected(reason, source);
+            return null;
+        }
+
+        tokenCache.put(digest, verifiedToken, userDetails);
+        return userDetails;
+    }
+
+    /**
+     * Rejects a request from a source that keeps sending invalid tokens.
+     * 
+     * @param response The HTTP response
+     */
+    private void writeTooManyRequests(HttpServletResponse response) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(invalidTokenGuard.getRetryAfterSeconds()));
+        response.setContentType("application/json");
+        response.getWriter().write(
+                "{\"error\":\"Too Many Requests\",\"message\":\"Too many invalid tokens from this client\"}");
+    }
+
+    /**
+     * Client address that failures are charged to. With
+     * server.forward-headers-strategy=native, Tomcat's RemoteIpValve has
+     * already replaced the proxy's address with the client's from
+     * X-Forwarded-For, so clients behind the reverse proxy are shed one by
+     * one rather than all together.
+     *
+     * @param request The HTTP request
+     * @return The resolved client address
+     */
+    private static String clientAddress(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
     /**
      * Extracts JWT token from request headers.
      * Supports both Authorization Bearer and apikey headers (Supabase patterns).
@@ -103,39 +193,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    /**
-     * Creates Spring Security authorities based on Supabase role.
-     * 
-     * @param role The Supabase role from JWT token
-     * @return List of authorities
-     */
-    private List<SimpleGrantedAuthority> createAuthorities(String role) {
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-
-        if (role != null) {
-            // Map Supabase roles to Spring Security authorities
-            switch (role) {
-                case SupabaseJwtUtil.ANON_ROLE:
-                    authorities.add(new SimpleGrantedAuthority("ROLE_ANONYMOUS"));
-                    break;
-                case SupabaseJwtUtil.AUTHENTICATED_ROLE:
-                    authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-                    authorities.add(new SimpleGrantedAuthority("ROLE_AUTHENTICATED"));
-                    break;
-                case SupabaseJwtUtil.SERVICE_ROLE:
-                    authorities.add(new SimpleGrantedAuthority("ROLE_SERVICE"));
-                    authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
-                    break;
-                default:
-                    log.warn("Unknown Supabase role: {}", role);
-                    authorities.add(new SimpleGrantedAuthority("ROLE_UNKNOWN"));
-                    break;
-            }
-        }
-
-        return authorities;
-    }
-
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         // Skip authentication for public endpoints
@@ -0,0 +1,95 @@
+package com.upv.examcalendar.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact Bloom filter over session IDs for the revocation hot path.
+ *
+ * Hashes are derived from {@link String#hashCode()}, which the JVM caches on
+ * the String instance, so a membership test on a session ID that came from a
+ * cached {@link SupabaseUserDetails} does no hashing and no allocation.
+ * Bits live in an {@link AtomicLongArray} so new revocations can be added
+ * while request threads are reading.
+ */
+public class SessionBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    /**
+     * @param capacity          Expected number of entries
+     * @param falsePositiveRate Target false positive rate at capacity
+     */
+    public SessionBloomFilter(int capacity, double falsePositiveRate) {
+        int expected = Math.max(1, capacity);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+        // Round up to whole longs, at least one
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * ln2));
+        this.capacity = expected;
+    }
+
+    /**
+     * Adds a session ID.
+     */
+    public void add(String sessionId) {
+        int h1 = mix(sessionId.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Checks membership. False means definitely not added; true means maybe.
+     */
+    public boolean mightContain(String sessionId) {
+        int h1 = mix(sessionId.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of entries the filter was sized for.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Size of the bit array in bytes.
+     */
+    public int getSizeInBytes() {
+        return bitCount / 8;
+    }
+
+    // MurmurHash3 fmix32 finaliser
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
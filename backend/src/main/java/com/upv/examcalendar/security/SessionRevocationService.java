@@ -0,0 +1,211 @@
+package com.upv.examcalendar.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Rejects tokens whose Supabase session has been signed out.
+ *
+ * Revoked session IDs are held in memory as a {@link SessionBloomFilter}
+ * backed by an exact set. The hot path checks the Bloom filter first and
+ * only consults the exact set on a hit, so the common "not revoked" answer
+ * costs a few nanoseconds and never touches the database.
+ *
+ * The set is synced from the revoked sessions table (see
+ * db/revoked_sessions.sql) on a background thread: each refresh only reads
+ * rows newer than the last seen revoked_at, and a periodic full reload
+ * drops revocations older than any token that could still be valid.
+ */
+@Service
+@Slf4j
+public class SessionRevocationService {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final int MIN_CAPACITY = 1024;
+    // Re-read a little behind the watermark to catch rows committed out of revoked_at order
+    private static final long WATERMARK_OVERLAP_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String table;
+    private final long refreshIntervalSeconds;
+    private final long retentionSeconds;
+    private final int fullReloadEvery;
+
+    private volatile State state = new State(new SessionBloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE),
+            ConcurrentHashMap.newKeySet());
+    private Timestamp watermark;
+    private int refreshesSinceFullReload;
+    private ScheduledExecutorService scheduler;
+
+    public SessionRevocationService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${supabase.revocation.enabled:false}") boolean enabled,
+            @Value("${supabase.revocation.table:revoked_sessions}") String table,
+            @Value("${supabase.revocation.refresh-seconds:10}") long refreshIntervalSeconds,
+            @Value("${supabase.revocation.retention-seconds:3900}") long retentionSeconds) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid revocation table name: " + table);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.table = table;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        this.retentionSeconds = retentionSeconds;
+        // Full reload roughly every retention period to forget stale revocations
+        this.fullReloadEvery = (int) Math.max(1, retentionSeconds / Math.max(1, refreshIntervalSeconds));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Session revocation checks disabled");
+            return;
+        }
+
+        reload();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalSeconds, refreshIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks if a session has been revoked. Never touches the database.
+     *
+     * @param sessionId The session_id claim, may be null
+     * @return true if the session is revoked
+     */
+    public boolean isRevoked(String sessionId) {
+        if (sessionId == null) {
+            return false;
+        }
+        State current = state;
+        return current.bloom.mightContain(sessionId) && current.revoked.contains(sessionId);
+    }
+
+    /**
+     * Number of revoked sessions currently held in memory.
+     */
+    public int size() {
+        return state.revoked.size();
+    }
+
+    /**
+     * Applies new revocations since the last refresh, or does a full reload
+     * when it is due. Errors keep the current set.
+     */
+    synchronized void refresh() {
+        if (watermark == null || ++refreshesSinceFullReload >= fullReloadEvery) {
+            reload();
+            return;
+        }
+        try {
+            List<String> revokedSince = fetch(new Timestamp(watermark.getTime() - WATERMARK_OVERLAP_MILLIS));
+            if (revokedSince.isEmpty()) {
+                return;
+            }
+            State current = state;
+            if (current.revoked.size() + revokedSince.size() > current.bloom.getCapacity()) {
+                // Outgrew the filter: rebuild larger so the false positive rate holds
+                List<String> all = new ArrayList<>(current.revoked);
+                all.addAll(revokedSince);
+                state = build(all);
+            } else {
+                for (String sessionId : revokedSince) {
+                    // Bloom first: a reader that finds the ID in the exact set must also pass the filter
+                    current.bloom.add(sessionId);
+                    current.revoked.add(sessionId);
+                }
+            }
+            log.debug("Applied {} new session revocations", revokedSince.size());
+        } catch (Exception e) {
+            log.warn("Failed to refresh session revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the filter from every revocation inside the retention window.
+     */
+    synchronized void reload() {
+        try {
+            Timestamp since = Timestamp.from(Instant.now().minusSeconds(retentionSeconds));
+            if (watermark == null || watermark.before(since)) {
+                watermark = since;
+            }
+            state = build(fetch(since));
+            refreshesSinceFullReload = 0;
+            log.info("Loaded {} revoked sessions from {}", state.revoked.size(), table);
+        } catch (Exception e) {
+            log.warn("Failed to load session revocations from {}: {}", table, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads revocations newer than the given instant and advances the watermark.
+     */
+    private List<String> fetch(Timestamp since) {
+        List<String> sessionIds = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT session_id, revoked_at FROM " + table + " WHERE revoked_at > ? ORDER BY revoked_at",
+                rs -> {
+                    String sessionId = rs.getString(1);
+                    Timestamp revokedAt = rs.getTimestamp(2);
+                    if (sessionId != null) {
+                        sessionIds.add(sessionId);
+                    }
+                    if (revokedAt != null && revokedAt.after(watermark)) {
+                        watermark = revokedAt;
+                    }
+                },
+                since);
+        return sessionIds;
+    }
+
+    private State build(List<String> sessionIds) {
+        Set<String> revoked = ConcurrentHashMap.newKeySet(sessionIds.size());
+        revoked.addAll(sessionIds);
+        // Sized at twice the current count so incremental adds fit before the next rebuild
+        SessionBloomFilter bloom = new SessionBloomFilter(Math.max(MIN_CAPACITY, revoked.size() * 2),
+                FALSE_POSITIVE_RATE);
+        revoked.forEach(bloom::add);
+        return new State(bloom, revoked);
+    }
+
+    private static final class State {
+        private final SessionBloomFilter bloom;
+        private final Set<String> revoked;
+
+        private State(SessionBloomFilter bloom, Set<String> revoked) {
+            this.bloom = bloom;
+            this.revoked = revoked;
+        }
+    }
+}
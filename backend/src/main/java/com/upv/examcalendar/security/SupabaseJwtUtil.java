@@ -3,11 +3,14 @@ package com.upv.examcalendar.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Base64;
 import java.util.Date;
 import java.util.function.Function;
@@ -19,11 +22,17 @@ import java.util.function.Function;
  * 
  * Reference: https://supabase.com/docs/guides/auth/jwts
  * JWT Structure includes: role, sub, iss, exp, iat, aud, etc.
+ * 
+ * HS256 tokens are checked against the legacy shared secret; ES256/RS256
+ * tokens are checked against the JWKS key set selected by the kid header.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class SupabaseJwtUtil {
 
+    private final JwksKeyProvider jwksKeyProvider;
+
     @Value("${supabase.jwt.secret}")
     private String jwtSecret;
 
@@ -45,6 +54,27 @@ public class SupabaseJwtUtil {
     public static final String AUTHENTICATED_ROLE = "authenticated";
     public static final String SERVICE_ROLE = "service_role";
 
+    // Decoded once; the secret never changes at runtime
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        if (jwtSecret == null || jwtSecret.isEmpty()) {
+            log.warn("supabase.jwt.secret is not configured; HS256 tokens will be rejected");
+        } else {
+            this.signingKey = getSigningKey();
+        }
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return locateVerificationKey(header);
+                    }
+                })
+                .build();
+    }
+
     /**
      * Validates a Supabase JWT token using the project's JWT secret.
      * 
@@ -52,20 +82,36 @@ public class SupabaseJwtUtil {
      * @return true if the token is valid, false otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = getSigningKey();
-            Jws<Claims> claimsJws = Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+        return verifyToken(token) != null;
+    }
 
-            // Additional Supabase-specific validations
-            Claims claims = claimsJws.getBody();
+    /**
+     * Parses and validates a Supabase JWT token in a single pass.
+     * The signature is checked once and every claim needed downstream is
+     * extracted, so callers should pass the result along instead of calling
+     * the individual getters with the raw token.
+     * 
+     * @param token The JWT token to verify
+     * @return The verified token, or null if the token is invalid
+     */
+    public VerifiedToken verifyToken(String token) {
+        return verify(token).getVerifiedToken();
+    }
+
+    /**
+     * Same as {@link #verifyToken(String)} but reports why a token was rejected.
+     * 
+     * @param token The JWT token to verify
+     * @return The verification outcome, never null
+     */
+    public TokenVerification verify(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
 
             // Check if token is expired
             if (isTokenExpired(claims)) {
-                log.warn("JWT token is expired");
-                return false;
+                log.debug("JWT token is expired");
+                return TokenVerification.rejected(TokenRejectionReason.EXPIRED);
             }
 
             // Validate issuer (should be Supabase project URL)
@@ -73,39 +119,39 @@ public class SupabaseJwtUtil {
             if (issuer != null && !issuer.isEmpty() && !projectUrl.isEmpty()) {
                 String expectedIssuer = projectUrl + "/auth/v1";
                 if (!issuer.equals(expectedIssuer)) {
-                    log.warn("JWT issuer validation failed. Expected: {}, Got: {}", expectedIssuer, issuer);
-                    return false;
+                    log.debug("JWT issuer validation failed. Expected: {}, Got: {}", expectedIssuer, issuer);
+                    return TokenVerification.rejected(TokenRejectionReason.INVALID_ISSUER);
                 }
             }
 
             // Validate role claim exists
             String role = getRoleFromToken(claims);
             if (role == null || role.isEmpty()) {
-                log.warn("JWT token missing role claim");
-                return false;
+                log.debug("JWT token missing role claim");
+                return TokenVerification.rejected(TokenRejectionReason.MISSING_ROLE);
             }
 
             log.debug("JWT token validated successfully for role: {}", role);
-            return true;
+            return TokenVerification.valid(toVerifiedToken(token, claims));
 
         } catch (ExpiredJwtException e) {
-            log.error("JWT token is expired: {}", e.getMessage());
-            return false;
+            log.debug("JWT token is expired: {}", e.getMessage());
+            return TokenVerification.rejected(TokenRejectionReason.EXPIRED);
         } catch (UnsupportedJwtException e) {
-            log.error("JWT token is unsupported: {}", e.getMessage());
-            return false;
+            log.debug("JWT token is unsupported: {}", e.getMessage());
+            return TokenVerification.rejected(TokenRejectionReason.UNSUPPORTED);
         } catch (MalformedJwtException e) {
-            log.error("JWT token is malformed: {}", e.getMessage());
-            return false;
+            log.debug("JWT token is malformed: {}", e.getMessage());
+            return TokenVerification.rejected(TokenRejectionReason.MALFORMED);
         } catch (SignatureException e) {
-            log.error("JWT signature validation failed: {}", e.getMessage());
-            return false;
+            log.debug("JWT signature validation failed: {}", e.getMessage());
+            return TokenVerification.rejected(TokenRejectionReason.BAD_SIGNATURE);
         } catch (IllegalArgumentException e) {
-            log.error("JWT token compact is empty: {}", e.getMessage());
-            return false;
+            log.debug("JWT token compact is empty: {}", e.getMessage());
+            return TokenVerification.rejected(TokenRejectionReason.EMPTY);
         } catch (Exception e) {
-            log.error("Unexpected error validating JWT token: {}", e.getMessage());
-            return false;
+            log.debug("Unexpected error validating JWT token: {}", e.getMessage());
+            return TokenVerification.rejected(TokenRejectionReason.ERROR);
         }
     }
 
@@ -227,6 +273,27 @@ public class SupabaseJwtUtil {
 
     // Private helper methods
 
+    /**
+     * Picks the verification key for a JWS header without blocking.
+     * Unknown kids are rejected immediately; the JWKS provider refreshes in
+     * the background so the next request after a key rotation succeeds.
+     */
+    private Key locateVerificationKey(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if (algorithm != null && algorithm.startsWith("HS")) {
+            if (signingKey == null) {
+                throw new UnsupportedJwtException("HMAC-signed tokens are not accepted: no JWT secret configured");
+            }
+            return signingKey;
+        }
+
+        Key key = jwksKeyProvider.getKey(header.getKeyId());
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + header.getKeyId());
+        }
+        return key;
+    }
+
     private SecretKey getSigningKey() {
         byte[] keyBytes = Base64.getDecoder().decode(jwtSecret);
         return Keys.hmacShaKeyFor(keyBytes);
@@ -237,18 +304,29 @@ public class SupabaseJwtUtil {
             final Claims claims = getAllClaimsFromToken(token);
             return claimsResolver.apply(claims);
         } catch (Exception e) {
-            log.error("Error extracting claim from token: {}", e.getMessage());
+            log.debug("Error extracting claim from token: {}", e.getMessage());
             return null;
         }
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        SecretKey key = getSigningKey();
-        return Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (jwtParser == null) {
+            throw new IllegalStateException("JWT parser is not initialised");
+        }
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    private VerifiedToken toVerifiedToken(String token, Claims claims) {
+        return VerifiedToken.builder()
+                .token(token)
+                .userId(claims.getSubject())
+                .email(claims.get(EMAIL_CLAIM, String.class))
+                .role(getRoleFromToken(claims))
+                .sessionId(claims.get(SESSION_ID_CLAIM, String.class))
+                .aal(claims.get(AAL_CLAIM, String.class))
+                .expiration(claims.getExpiration())
+                .claims(claims)
+                .build();
     }
 
     private String getRoleFromToken(Claims claims) {
@@ -26,16 +26,25 @@ public class SupabaseUserDetailsService {
      * @return SupabaseUserDetails or null if token is invalid
      */
     public SupabaseUserDetails loadUserByToken(String token) {
-        try {
-            if (!jwtUtil.validateToken(token)) {
-                return null;
-            }
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+        if (verifiedToken == null) {
+            return null;
+        }
+        return loadUserByVerifiedToken(verifiedToken);
+    }
 
-            String userId = jwtUtil.getUserIdFromToken(token);
-            String email = jwtUtil.getEmailFromToken(token);
-            String role = jwtUtil.getRoleFromToken(token);
-            String sessionId = jwtUtil.getSessionIdFromToken(token);
-            boolean isMfaEnabled = jwtUtil.isMFAEnabled(token);
+    /**
+     * Builds user details from a token that has already been verified.
+     * No parsing or signature check happens here.
+     * 
+     * @param verifiedToken The verified token
+     * @return SupabaseUserDetails or null if the token has no subject
+     */
+    public SupabaseUserDetails loadUserByVerifiedToken(VerifiedToken verifiedToken) {
+        try {
+            String userId = verifiedToken.getUserId();
+            String email = verifiedToken.getEmail();
+            String role = verifiedToken.getRole();
 
             if (userId == null) {
                 log.warn("JWT token missing user ID (sub claim)");
@@ -49,10 +58,10 @@ public class SupabaseUserDetailsService {
                     .userId(userId)
                     .email(email != null ? email : "anonymous@example.com")
                     .role(role)
-                    .sessionId(sessionId)
-                    .mfaEnabled(isMfaEnabled)
+                    .sessionId(verifiedToken.getSessionId())
+                    .mfaEnabled(verifiedToken.isMfaEnabled())
                     .authorities(authorities)
-                    .token(token)
+                    .token(verifiedToken.getToken())
                     .build();
 
         } catch (Exception e) {
@@ -84,6 +93,7 @@ public class SupabaseUserDetailsService {
                     authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
                     break;
                 default:
+                    log.warn("Unknown Supabase role: {}", role);
                     authorities.add(new SimpleGrantedAuthority("ROLE_UNKNOWN"));
                     break;
             }
@@ -0,0 +1,135 @@
+package com.upv.examcalendar.security;
+
+import com.upv.examcalendar.dto.TokenIntrospectionDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies batches of Supabase tokens for internal service-role jobs.
+ *
+ * All tokens share the single configured parser and are verified in parallel
+ * on a dedicated fixed pool, never the common ForkJoinPool; results keep the
+ * order of the request. The pool's queue is bounded: once it is full the
+ * calling request thread verifies the token itself, which throttles large
+ * batches instead of queueing without limit.
+ *
+ * Tokens the authentication filter has already seen are answered without
+ * parsing: verified ones from {@link VerifiedTokenCache}, recently rejected
+ * ones from {@link InvalidTokenGuard} with their original reason.
+ */
+@Service
+@Slf4j
+public class TokenIntrospectionService {
+
+    private final SupabaseJwtUtil jwtUtil;
+    private final SessionRevocationService revocationService;
+    private final VerifiedTokenCache tokenCache;
+    private final InvalidTokenGuard invalidTokenGuard;
+    private final ThreadPoolExecutor executor;
+
+    public TokenIntrospectionService(
+            SupabaseJwtUtil jwtUtil,
+            SessionRevocationService revocationService,
+            VerifiedTokenCache tokenCache,
+            InvalidTokenGuard invalidTokenGuard,
+            @Value("${supabase.jwt.introspection.threads:4}") int threads,
+            @Value("${supabase.jwt.introspection.queue-capacity:1000}") int queueCapacity) {
+        this.jwtUtil = jwtUtil;
+        this.revocationService = revocationService;
+        this.tokenCache = tokenCache;
+        this.invalidTokenGuard = invalidTokenGuard;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-introspection-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Introspects a batch of tokens.
+     *
+     * @param tokens Raw JWTs
+     * @return One result per token, in the same order
+     */
+    public List<TokenIntrospectionDto> introspect(List<String> tokens) {
+        log.debug("Introspecting batch of {} tokens", tokens.size());
+        List<CompletableFuture<TokenIntrospectionDto>> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(CompletableFuture.supplyAsync(() -> introspect(token), executor)
+                    .exceptionally(e -> rejected(TokenRejectionReason.ERROR)));
+        }
+        return results.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Introspects a single token.
+     *
+     * @param token Raw JWT
+     * @return Verified claims or rejection reason
+     */
+    public TokenIntrospectionDto introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return rejected(TokenRejectionReason.EMPTY);
+        }
+
+        String digest = VerifiedTokenCache.digest(token);
+        VerifiedToken verified = tokenCache.getVerifiedByDigest(digest);
+        if (verified == null) {
+            TokenRejectionReason knownReason = invalidTokenGuard.getRejectionReason(digest);
+            if (knownReason != null) {
+                return rejected(knownReason);
+            }
+            TokenVerification verification = jwtUtil.verify(token);
+            if (!verification.isValid()) {
+                return rejected(verification.getReason());
+            }
+            verified = verification.getVerifiedToken();
+        }
+
+        if (verified.getUserId() == null) {
+            return rejected(TokenRejectionReason.MISSING_SUBJECT);
+        }
+        if (revocationService.isRevoked(verified.getSessionId())) {
+            return rejected(TokenRejectionReason.REVOKED);
+        }
+
+        return TokenIntrospectionDto.builder()
+                .active(true)
+                .userId(verified.getUserId())
+                .email(verified.getEmail())
+                .role(verified.getRole())
+                .sessionId(verified.getSessionId())
+                .aal(verified.getAal())
+                .expiresAt(verified.getExpiration() != null ? verified.getExpiration().getTime() / 1000 : null)
+                .build();
+    }
+
+    private TokenIntrospectionDto rejected(TokenRejectionReason reason) {
+        return TokenIntrospectionDto.builder()
+                .active(false)
+                .reason(reason.name())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.upv.examcalendar.security;
+
+/**
+ * Why a Supabase token was not accepted.
+ * Used for introspection responses and auth failure metrics.
+ */
+public enum TokenRejectionReason {
+    EMPTY,
+    MALFORMED,
+    UNSUPPORTED,
+    BAD_SIGNATURE,
+    EXPIRED,
+    INVALID_ISSUER,
+    MISSING_ROLE,
+    MISSING_SUBJECT,
+    REVOKED,
+    ERROR
+}
@@ -0,0 +1,31 @@
+package com.upv.examcalendar.security;
+
+import lombok.Getter;
+
+/**
+ * Outcome of verifying a Supabase token: either the verified token or the
+ * reason it was rejected.
+ */
+@Getter
+public class TokenVerification {
+
+    private final VerifiedToken verifiedToken;
+    private final TokenRejectionReason reason;
+
+    private TokenVerification(VerifiedToken verifiedToken, TokenRejectionReason reason) {
+        this.verifiedToken = verifiedToken;
+        this.reason = reason;
+    }
+
+    public static TokenVerification valid(VerifiedToken verifiedToken) {
+        return new TokenVerification(verifiedToken, null);
+    }
+
+    public static TokenVerification rejected(TokenRejectionReason reason) {
+        return new TokenVerification(null, reason);
+    }
+
+    public boolean isValid() {
+        return verifiedToken != null;
+    }
+}
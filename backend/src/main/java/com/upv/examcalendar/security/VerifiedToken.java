@@ -0,0 +1,46 @@
+package com.upv.examcalendar.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Immutable view of a Supabase JWT that has already been parsed and had its
+ * signature checked. Produced once per request by
+ * {@link SupabaseJwtUtil#verifyToken(String)} and handed to the filter and
+ * user details service so the same token is never parsed twice.
+ */
+@Getter
+@Builder
+public class VerifiedToken {
+
+    private final String token;
+    private final String userId;
+    private final String email;
+    private final String role;
+    private final String sessionId;
+    private final String aal;
+    private final Date expiration;
+    private final Claims claims;
+
+    /**
+     * Checks if the user has Multi-Factor Authentication enabled (AAL2).
+     *
+     * @return true if user has MFA enabled
+     */
+    public boolean isMfaEnabled() {
+        return "aal2".equals(aal);
+    }
+
+    /**
+     * Checks if the token is expired at the given instant.
+     *
+     * @param now Current time in epoch milliseconds
+     * @return true if expired
+     */
+    public boolean isExpiredAt(long now) {
+        return expiration != null && expiration.getTime() < now;
+    }
+}
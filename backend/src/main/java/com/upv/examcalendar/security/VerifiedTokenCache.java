@@ -0,0 +1,190 @@
+package com.upv.examcalendar.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already verified Supabase tokens.
+ * Browsers resend the same access token for up to an hour, so repeat requests
+ * are answered from here without any JWT parsing or signature checks.
+ *
+ * Keys are SHA-256 digests of the raw token (the token itself is never used
+ * as a map key). Each entry expires at the earlier of the token's exp claim
+ * and the configured maximum TTL. Hit/miss statistics are exported to
+ * Micrometer under the cache name "supabaseTokens".
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "supabaseTokens";
+
+    private final Cache<String, Entry> cache;
+
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            @Value("${supabase.jwt.cache.max-size:10000}") long maxSize,
+            @Value("${supabase.jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtlNanos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached user details for a token, if present and not expired.
+     *
+     * @param token The raw JWT
+     * @return Cached user details, or null on a miss
+     */
+    public SupabaseUserDetails get(String token) {
+        return getByDigest(digest(token));
+    }
+
+    /**
+     * Returns the cached user details for a precomputed token digest.
+     *
+     * @param digest Token digest from {@link #digest(String)}
+     * @return Cached user details, or null on a miss
+     */
+    public SupabaseUserDetails getByDigest(String digest) {
+        Entry entry = live(digest);
+        return entry != null ? entry.userDetails : null;
+    }
+
+    /**
+     * Returns the verified claims cached for a precomputed token digest.
+     *
+     * @param digest Token digest from {@link #digest(String)}
+     * @return Cached verified token, or null on a miss
+     */
+    public VerifiedToken getVerifiedByDigest(String digest) {
+        Entry entry = live(digest);
+        return entry != null ? entry.verifiedToken : null;
+    }
+
+    private Entry live(String digest) {
+        Entry entry = cache.getIfPresent(digest);
+        if (entry == null) {
+            return null;
+        }
+        // Caffeine expiry is approximate; never hand out a token past its exp
+        if (entry.expiresAtMillis > 0 && entry.expiresAtMillis <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the user details built from a verified token.
+     *
+     * @param verifiedToken The verified token
+     * @param userDetails   The user details built from it
+     */
+    public void put(VerifiedToken verifiedToken, SupabaseUserDetails userDetails) {
+        put(digest(verifiedToken.getToken()), verifiedToken, userDetails);
+    }
+
+    /**
+     * Stores the user details built from a verified token under a precomputed digest.
+     *
+     * @param digest        Token digest from {@link #digest(String)}
+     * @param verifiedToken The verified token
+     * @param userDetails   The user details built from it
+     */
+    public void put(String digest, VerifiedToken verifiedToken, SupabaseUserDetails userDetails) {
+        long expiresAt = verifiedToken.getExpiration() != null ? verifiedToken.getExpiration().getTime() : 0L;
+        if (expiresAt > 0 && expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(digest, new Entry(verifiedToken, userDetails, expiresAt));
+    }
+
+    /**
+     * Removes every cached token. Used when signing keys or revocations change.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Approximate number of cached tokens.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Computes the cache key for a raw token.
+     *
+     * @param token The raw JWT
+     * @return Base64 encoded SHA-256 digest
+     */
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to ship SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final VerifiedToken verifiedToken;
+        private final SupabaseUserDetails userDetails;
+        private final long expiresAtMillis;
+
+        private Entry(VerifiedToken verifiedToken, SupabaseUserDetails userDetails, long expiresAtMillis) {
+            this.verifiedToken = verifiedToken;
+            this.userDetails = userDetails;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    /**
+     * Caps each entry's lifetime by the token's own exp claim.
+     */
+    private static final class TokenExpiry implements Expiry<String, Entry> {
+        private final long maxTtlNanos;
+
+        private TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            if (entry.expiresAtMillis <= 0) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = entry.expiresAtMillis - System.currentTimeMillis();
+            return Math.max(0L, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
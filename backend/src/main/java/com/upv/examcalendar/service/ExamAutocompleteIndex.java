@@ -0,0 +1,287 @@
+package com.upv.examcalendar.service;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix index for search box type-ahead over subjects, acronyms and codes.
+ *
+ * Each distinct subject becomes one suggestion. Its lookup keys are the
+ * folded subject (see {@link SearchKeys}) and every word suffix of it (so "datos" finds "Bases
+ * de Datos"), its acronym and its code, held in one sorted array. The keys
+ * starting with a prefix form a contiguous range found by two binary
+ * searches; the suggestions in that range are ranked by their next
+ * upcoming exam, then by number of exams, and the top N returned.
+ */
+public final class ExamAutocompleteIndex {
+
+    private final String[] subjects;
+    private final String[] acronyms;
+    private final String[] codes;
+    // Exam dates per suggestion, ascending, dated exams only
+    private final long[][] dates;
+    private final int[] examCounts;
+    // Rows per suggestion, dated or not
+    private final int[] rowCounts;
+
+    private final String[] keys;
+    private final int[] suggestionOfKey;
+
+    ExamAutocompleteIndex(String[] subjectColumn, String[] acronymColumn, String[] codeColumn, long[] dateColumn) {
+        // Group rows by subject, keeping the first acronym and code seen
+        Map<String, Integer> bySubject = new LinkedHashMap<>();
+        List<String> subjectList = new ArrayList<>();
+        List<String> acronymList = new ArrayList<>();
+        List<String> codeList = new ArrayList<>();
+        List<List<Long>> dateLists = new ArrayList<>();
+        List<Integer> rowLists = new ArrayList<>();
+        for (int row = 0; row < subjectColumn.length; row++) {
+            String subject = subjectColumn[row];
+            if (subject == null || subject.isBlank()) {
+                continue;
+            }
+            Integer suggestion = bySubject.get(SearchKeys.fold(subject));
+            if (suggestion == null) {
+                suggestion = subjectList.size();
+                bySubject.put(SearchKeys.fold(subject), suggestion);
+                subjectList.add(subject);
+                acronymList.add(acronymColumn[row]);
+                codeList.add(codeColumn[row]);
+                dateLists.add(new ArrayList<>());
+                rowLists.add(0);
+            } else {
+                if (acronymList.get(suggestion) == null) {
+                    acronymList.set(suggestion, acronymColumn[row]);
+                }
+                if (codeList.get(suggestion) == null) {
+                    codeList.set(suggestion, codeColumn[row]);
+                }
+            }
+            rowLists.set(suggestion, rowLists.get(suggestion) + 1);
+            if (dateColumn[row] != ExamSnapshot.NO_DATE) {
+                dateLists.get(suggestion).add(dateColumn[row]);
+            }
+        }
+
+        int count = subjectList.size();
+        this.subjects = subjectList.toArray(new String[0]);
+        this.acronyms = acronymList.toArray(new String[0]);
+        this.codes = codeList.toArray(new String[0]);
+        this.dates = new long[count][];
+        this.examCounts = new int[count];
+        this.rowCounts = new int[count];
+        for (int s = 0; s < count; s++) {
+            List<Long> list = dateLists.get(s);
+            dates[s] = list.stream().mapToLong(Long::longValue).sorted().toArray();
+            examCounts[s] = list.size();
+            rowCounts[s] = rowLists.get(s);
+        }
+
+        // One entry per (key, suggestion); duplicates collapse
+        Map<String, List<Integer>> entries = new HashMap<>();
+        for (int s = 0; s < count; s++) {
+            String subject = SearchKeys.fold(subjects[s]);
+            addKey(entries, subject, s);
+            for (int i = 1; i < subject.length(); i++) {
+                if (subject.charAt(i - 1) == ' ' && subject.charAt(i) != ' ') {
+                    addKey(entries, subject.substring(i), s);
+                }
+            }
+            addKey(entries, SearchKeys.fold(acronyms[s]), s);
+            addKey(entries, SearchKeys.fold(codes[s]), s);
+        }
+        String[] sortedKeys = entries.keySet().toArray(new String[0]);
+        Arrays.sort(sortedKeys);
+        int total = entries.values().stream().mapToInt(List::size).sum();
+        this.keys = new String[total];
+        this.suggestionOfKey = new int[total];
+        int next = 0;
+        for (String key : sortedKeys) {
+            for (int suggestion : entries.get(key)) {
+                keys[next] = key;
+                suggestionOfKey[next++] = suggestion;
+            }
+        }
+    }
+
+    /**
+     * Number of distinct suggestions.
+     */
+    public int size() {
+        return subjects.length;
+    }
+
+    /**
+     * Top suggestions whose subject, subject word, acronym or code starts
+     * with the prefix.
+     *
+     * @param prefix Folded prefix
+     * @param now    Current instant in epoch seconds, for upcoming ranking
+     * @param limit  Maximum number of suggestions
+     * @return Suggestion ids, best first
+     */
+    public int[] complete(String prefix, long now, int limit) {
+        if (prefix.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        boolean[] seen = new boolean[subjects.length];
+        List<Integer> matches = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int suggestion = suggestionOfKey[i];
+            if (!seen[suggestion]) {
+                seen[suggestion] = true;
+                matches.add(suggestion);
+            }
+        }
+        long[] nextDates = new long[subjects.length];
+        for (int suggestion : matches) {
+            nextDates[suggestion] = nextDate(suggestion, now);
+        }
+        matches.sort(Comparator
+                .<Integer>comparingLong(suggestion -> nextDates[suggestion])
+                .thenComparing(suggestion -> -examCounts[suggestion])
+                .thenComparing(suggestion -> subjects[suggestion]));
+        return matches.stream().limit(limit).mapToInt(Integer::intValue).toArray();
+    }
+
+    public String subject(int suggestion) {
+        return subjects[suggestion];
+    }
+
+    public String acronym(int suggestion) {
+        return acronyms[suggestion];
+    }
+
+    public String code(int suggestion) {
+        return codes[suggestion];
+    }
+
+    /**
+     * Next exam at or after an instant, {@link ExamSnapshot#NO_DATE} when there is none.
+     */
+    public long nextDate(int suggestion, long now) {
+        long[] suggestionDates = dates[suggestion];
+        int index = Arrays.binarySearch(suggestionDates, now);
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            while (index > 0 && suggestionDates[index - 1] == now) {
+                index--;
+            }
+        }
+        return index < suggestionDates.length ? suggestionDates[index] : ExamSnapshot.NO_DATE;
+    }
+
+    /**
+     * A suggestion's values as of an instant.
+     */
+    Suggestion suggestion(int suggestion, long now) {
+        return new Suggestion(subjects[suggestion], acronyms[suggestion], codes[suggestion],
+                nextDate(suggestion, now), examCounts[suggestion], rowCounts[suggestion]);
+    }
+
+    /**
+     * A suggestion's values without some of its rows, such as rows deleted or
+     * rewritten since the index was built.
+     *
+     * @param removedDates Dates of the removed dated rows, ascending
+     * @param removedRows  Number of removed rows, dated or not
+     * @return The remaining values, or null when no row is left
+     */
+    Suggestion suggestion(int suggestion, long now, List<Long> removedDates, int removedRows) {
+        if (rowCounts[suggestion] <= removedRows) {
+            return null;
+        }
+        // Both lists are ascending, so each removed date cancels one equal date
+        long[] suggestionDates = dates[suggestion];
+        long next = ExamSnapshot.NO_DATE;
+        int removed = 0;
+        for (long date : suggestionDates) {
+            while (removed < removedDates.size() && removedDates.get(removed) < date) {
+                removed++;
+            }
+            if (removed < removedDates.size() && removedDates.get(removed) == date) {
+                removed++;
+            } else if (date >= now) {
+                next = date;
+                break;
+            }
+        }
+        return new Suggestion(subjects[suggestion], acronyms[suggestion], codes[suggestion], next,
+                examCounts[suggestion] - removedDates.size(), rowCounts[suggestion] - removedRows);
+    }
+
+    private static void addKey(Map<String, List<Integer>> entries, String key, int suggestion) {
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Integer> suggestions = entries.computeIfAbsent(key, k -> new ArrayList<>(1));
+        if (!suggestions.contains(suggestion)) {
+            suggestions.add(suggestion);
+        }
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * One type-ahead suggestion, detached from the index that produced it.
+     */
+    @Getter
+    public static final class Suggestion {
+
+        /**
+         * Order of {@link #complete}: next upcoming exam, then most exams, then subject.
+         */
+        static final Comparator<Suggestion> RANKING = Comparator
+                .comparingLong(Suggestion::getNextDate)
+                .thenComparing(suggestion -> -suggestion.getExamCount())
+                .thenComparing(Suggestion::getSubject);
+
+        private final String subject;
+        private final String acronym;
+        private final String code;
+        // Next exam at or after the instant the suggestion was made for, NO_DATE when none
+        private final long nextDate;
+        private final int examCount;
+        private final int rowCount;
+
+        Suggestion(String subject, String acronym, String code, long nextDate, int examCount, int rowCount) {
+            this.subject = subject;
+            this.acronym = acronym;
+            this.code = code;
+            this.nextDate = nextDate;
+            this.examCount = examCount;
+            this.rowCount = rowCount;
+        }
+
+        /**
+         * The same subject with another index's rows added.
+         */
+        Suggestion plus(Suggestion other) {
+            return new Suggestion(subject, acronym != null ? acronym : other.acronym,
+                    code != null ? code : other.code, Math.min(nextDate, other.nextDate),
+                    examCount + other.examCount, rowCount + other.rowCount);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.upv.examcalendar.service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in the (exam_date, id) order of a listing, handed to clients as
+ * an opaque string.
+ *
+ * A cursor names the boundary row of the page it came from and a direction:
+ * an "after" cursor reads the rows following that row, a "before" cursor the
+ * rows preceding it. Undated exams sort after every dated one, as in the
+ * snapshot. Encoded as URL-safe Base64 of a version byte, the direction, the
+ * date in epoch seconds and the id, so clients cannot build offsets from it.
+ */
+public final class ExamCursor {
+
+    private static final byte VERSION = 1;
+    private static final int BYTES = 1 + 1 + 8 + 8;
+
+    private final boolean after;
+    private final long date;
+    private final long id;
+
+    private ExamCursor(boolean after, long date, long id) {
+        this.after = after;
+        this.date = date;
+        this.id = id;
+    }
+
+    /**
+     * Cursor for the rows after a row.
+     */
+    public static ExamCursor after(LocalDateTime date, long id) {
+        return new ExamCursor(true, ExamSnapshot.encodeDate(date), id);
+    }
+
+    /**
+     * Cursor for the rows before a row.
+     */
+    public static ExamCursor before(LocalDateTime date, long id) {
+        return new ExamCursor(false, ExamSnapshot.encodeDate(date), id);
+    }
+
+    /**
+     * Whether the cursor reads forward, after its row.
+     */
+    public boolean isAfter() {
+        return after;
+    }
+
+    /**
+     * Boundary date in epoch seconds, {@link ExamSnapshot#NO_DATE} for an undated row.
+     */
+    public long getDate() {
+        return date;
+    }
+
+    /**
+     * Boundary date, null for an undated row.
+     */
+    public LocalDateTime getDateTime() {
+        return ExamSnapshot.decodeDate(date);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Orders a row against the cursor's boundary row.
+     *
+     * @return Negative, zero or positive as the row sorts before, at or after the boundary
+     */
+    int compareRow(long rowDate, long rowId) {
+        return rowDate != date ? Long.compare(rowDate, date) : Long.compare(rowId, id);
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .put(VERSION)
+                .put((byte) (after ? 1 : 0))
+                .putLong(date)
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException If the string is not a valid cursor
+     */
+    public static ExamCursor decode(String value) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (bytes.length != BYTES || bytes[0] != VERSION || (bytes[1] != 0 && bytes[1] != 1)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, BYTES - 2);
+        return new ExamCursor(bytes[1] == 1, buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,164 @@
+package com.upv.examcalendar.service;
+
+import java.util.Arrays;
+
+/**
+ * Sorted primitive index over exam start instants.
+ *
+ * Start instants (epoch seconds) are held in a sorted {@code long[]} with a
+ * parallel {@code int[]} of snapshot row positions. Range, upcoming and
+ * next-N queries are two binary searches and return a {@link RowView} over
+ * a slice of the row array, so no result array is copied until a caller
+ * actually needs one. Exams without a date are not indexed.
+ */
+public final class ExamDateIndex {
+
+    private final long[] starts;
+    private final int[] rowIds;
+
+    /**
+     * @param dates Start instant per row position, {@link ExamSnapshot#NO_DATE} when unknown
+     */
+    ExamDateIndex(long[] dates) {
+        int dated = 0;
+        for (long date : dates) {
+            if (date != ExamSnapshot.NO_DATE) {
+                dated++;
+            }
+        }
+        Integer[] order = new Integer[dated];
+        int next = 0;
+        for (int i = 0; i < dates.length; i++) {
+            if (dates[i] != ExamSnapshot.NO_DATE) {
+                order[next++] = i;
+            }
+        }
+        // Stable on row position, so ties keep the snapshot's (date, id) order
+        Arrays.sort(order, (a, b) -> dates[a] != dates[b] ? Long.compare(dates[a], dates[b]) : Integer.compare(a, b));
+
+        this.starts = new long[dated];
+        this.rowIds = new int[dated];
+        for (int i = 0; i < dated; i++) {
+            rowIds[i] = order[i];
+            starts[i] = dates[order[i]];
+        }
+    }
+
+    /**
+     * Number of dated exams.
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Rows starting between start and end, both inclusive.
+     */
+    public RowView between(long start, long end) {
+        if (end < start) {
+            return new RowView(rowIds, 0, 0);
+        }
+        return new RowView(rowIds, lowerBound(start), upperBound(end));
+    }
+
+    /**
+     * Rows starting at or after an instant.
+     */
+    public RowView from(long since) {
+        return new RowView(rowIds, lowerBound(since), rowIds.length);
+    }
+
+    /**
+     * The first {@code limit} rows starting at or after an instant.
+     */
+    public RowView next(long since, int limit) {
+        int from = lowerBound(since);
+        return new RowView(rowIds, from, (int) Math.min((long) from + Math.max(0, limit), rowIds.length));
+    }
+
+    /**
+     * Index of the first start >= key.
+     */
+    int lowerBound(long key) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first start > key.
+     */
+    int upperBound(long key) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Read-only window over the index's row positions, in start order.
+     */
+    public static final class RowView {
+        private final int[] rowIds;
+        private final int from;
+        private final int to;
+
+        private RowView(int[] rowIds, int from, int to) {
+            this.rowIds = rowIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * View over a whole array of row positions, such as a merged result.
+         */
+        static RowView of(int[] rowIds) {
+            return new RowView(rowIds, 0, rowIds.length);
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        /**
+         * Row position of the i-th entry in the view.
+         */
+        public int rowId(int i) {
+            if (i < 0 || i >= size()) {
+                throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size());
+            }
+            return rowIds[from + i];
+        }
+
+        /**
+         * Narrower view, sharing the same backing array.
+         */
+        public RowView slice(int offset, int length) {
+            int start = Math.min(from + Math.max(0, offset), to);
+            int end = (int) Math.min((long) start + Math.max(0, length), to);
+            return new RowView(rowIds, start, end);
+        }
+
+        /**
+         * Copies the view's row positions.
+         */
+        public int[] toArray() {
+            return Arrays.copyOfRange(rowIds, from, to);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+import lombok.Getter;
+
+/**
+ * One committed change to the exam table, applied to the in-memory snapshot
+ * instead of reloading it. Upserts carry a detached copy of the entity, so
+ * later changes to the managed entity do not leak into the snapshot.
+ */
+@Getter
+public final class ExamDelta {
+
+    public enum Kind {
+        UPSERT,
+        DELETE
+    }
+
+    private final Kind kind;
+    private final Long id;
+    private final Exam exam;
+
+    private ExamDelta(Kind kind, Long id, Exam exam) {
+        this.kind = kind;
+        this.id = id;
+        this.exam = exam;
+    }
+
+    /**
+     * A created or updated exam. The exam must have its ID assigned.
+     */
+    public static ExamDelta upsert(Exam exam) {
+        Exam copy = new Exam();
+        copy.setId(exam.getId());
+        copy.setSubject(exam.getSubject());
+        copy.setDegree(exam.getDegree());
+        copy.setYear(exam.getYear());
+        copy.setSemester(exam.getSemester());
+        copy.setDate(exam.getDate());
+        copy.setRoom(exam.getRoom());
+        copy.setSchool(exam.getSchool());
+        copy.setExamInstanceId(exam.getExamInstanceId());
+        copy.setExamTime(exam.getExamTime());
+        copy.setCode(exam.getCode());
+        copy.setAcronym(exam.getAcronym());
+        copy.setDurationMinutes(exam.getDurationMinutes());
+        copy.setDurationDay(exam.getDurationDay());
+        copy.setComment(exam.getComment());
+        return new ExamDelta(Kind.UPSERT, exam.getId(), copy);
+    }
+
+    /**
+     * A deleted exam.
+     */
+    public static ExamDelta delete(Long id) {
+        return new ExamDelta(Kind.DELETE, id, null);
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + id;
+    }
+}
@@ -0,0 +1,192 @@
+package com.upv.examcalendar.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap index over the filter sidebar facets (school, degree, year, semester).
+ *
+ * Each facet value owns a bitmap with one bit per snapshot row, in the
+ * snapshot's (date, id) order. A selection is the intersection of the
+ * selected values' bitmaps, so paging its matches walks set bits in date
+ * order. Counts for a facet are computed against the selection on every
+ * other facet, so the sidebar shows how many exams each alternative value
+ * would return and can hide values that would return none.
+ */
+public final class ExamFacetIndex {
+
+    /**
+     * Facets exposed to the filter sidebar.
+     */
+    public enum Facet {
+        SCHOOL,
+        DEGREE,
+        YEAR,
+        SEMESTER;
+
+        /**
+         * Name used in request parameters and responses.
+         */
+        public String paramName() {
+            return name().toLowerCase();
+        }
+
+        private StringDictionary dictionary(ExamSnapshot snapshot) {
+            switch (this) {
+                case SCHOOL:
+                    return snapshot.schoolDictionary;
+                case DEGREE:
+                    return snapshot.degreeDictionary;
+                case YEAR:
+                    return snapshot.yearDictionary;
+                default:
+                    return snapshot.semesterDictionary;
+            }
+        }
+
+        private int[] codes(ExamSnapshot snapshot) {
+            switch (this) {
+                case SCHOOL:
+                    return snapshot.schoolCodes;
+                case DEGREE:
+                    return snapshot.degreeCodes;
+                case YEAR:
+                    return snapshot.yearCodes;
+                default:
+                    return snapshot.semesterCodes;
+            }
+        }
+    }
+
+    private final ExamSnapshot snapshot;
+    private final BitSet all;
+    // Bitmaps by facet, then by dictionary code
+    private final Map<Facet, BitSet[]> bitmaps = new EnumMap<>(Facet.class);
+
+    ExamFacetIndex(ExamSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int size = snapshot.size();
+        this.all = new BitSet(size);
+        all.set(0, size);
+        for (Facet facet : Facet.values()) {
+            BitSet[] values = new BitSet[facet.dictionary(snapshot).size()];
+            for (int code = 0; code < values.length; code++) {
+                values[code] = new BitSet(size);
+            }
+            int[] codes = facet.codes(snapshot);
+            for (int i = 0; i < size; i++) {
+                if (codes[i] != StringDictionary.NULL_CODE) {
+                    values[codes[i]].set(i);
+                }
+            }
+            bitmaps.put(facet, values);
+        }
+    }
+
+    /**
+     * Rows matching every selected facet value.
+     *
+     * @param selection Selected value per facet; absent facets are unconstrained
+     * @return A new bitmap of matching row positions
+     */
+    public BitSet select(Map<Facet, String> selection) {
+        return select(selection, null);
+    }
+
+    /**
+     * Pages the rows matching a selection in (date, id) order.
+     *
+     * @param selection Selected value per facet
+     * @param pageable  Page request
+     * @return The page of matching rows
+     */
+    public Page<ExamSnapshot.Row> page(Map<Facet, String> selection, Pageable pageable) {
+        BitSet matches = select(selection);
+        int total = matches.cardinality();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(collect(matches, 0, total), pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), total);
+        return new PageImpl<>(collect(matches, from, pageable.getPageSize()), pageable, total);
+    }
+
+    /**
+     * Counts matches per value of every facet, each against the selection on
+     * the other facets. Values with no matches are left out.
+     *
+     * @param selection Selected value per facet
+     * @return Counts by facet, then by value
+     */
+    public Map<Facet, Map<String, Integer>> counts(Map<Facet, String> selection) {
+        Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            counts.put(facet, counts(facet, selection, null));
+        }
+        return counts;
+    }
+
+    /**
+     * Counts matches per value of one facet against the selection on the
+     * other facets, leaving out masked rows.
+     *
+     * @param masked Row positions to leave out, or null
+     * @return Counts by value, values ascending
+     */
+    Map<String, Integer> counts(Facet facet, Map<Facet, String> selection, BitSet masked) {
+        BitSet others = select(selection, facet);
+        if (masked != null) {
+            others.andNot(masked);
+        }
+        Map<String, Integer> valueCounts = new LinkedHashMap<>();
+        BitSet scratch = new BitSet(snapshot.size());
+        BitSet[] values = bitmaps.get(facet);
+        // Dictionary codes are in sorted value order, so the sidebar gets a stable order
+        for (int code = 0; code < values.length; code++) {
+            scratch.clear();
+            scratch.or(values[code]);
+            scratch.and(others);
+            int count = scratch.cardinality();
+            if (count > 0) {
+                valueCounts.put(facet.dictionary(snapshot).value(code), count);
+            }
+        }
+        return valueCounts;
+    }
+
+    private BitSet select(Map<Facet, String> selection, Facet excluded) {
+        BitSet result = (BitSet) all.clone();
+        for (Map.Entry<Facet, String> entry : selection.entrySet()) {
+            if (entry.getKey() == excluded || entry.getValue() == null) {
+                continue;
+            }
+            int code = entry.getKey().dictionary(snapshot).code(entry.getValue());
+            if (code == StringDictionary.NULL_CODE) {
+                result.clear();
+                return result;
+            }
+            result.and(bitmaps.get(entry.getKey())[code]);
+        }
+        return result;
+    }
+
+    private List<ExamSnapshot.Row> collect(BitSet matches, int skip, int limit) {
+        List<ExamSnapshot.Row> page = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        int skipped = 0;
+        for (int i = matches.nextSetBit(0); i >= 0 && page.size() < limit; i = matches.nextSetBit(i + 1)) {
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                page.add(snapshot.row(i));
+            }
+        }
+        return page;
+    }
+}
@@ -0,0 +1,263 @@
+package com.upv.examcalendar.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Typo-tolerant term index over subject and degree words.
+ *
+ * Every distinct folded word (see {@link SearchKeys}) of three or more
+ * characters is a term with the sorted row positions containing it. The
+ * terms are held in a BK-tree keyed by Levenshtein distance: a child hangs
+ * off its parent under their distance, so by the triangle inequality a
+ * lookup within k edits of a word visits only children whose edge is within
+ * k of the word's distance to the parent, a small part of the vocabulary.
+ *
+ * A query matches a row when each of its words is within the allowed
+ * distance of some term of that row; the row's distance is the sum of the
+ * best distance per word. The allowed distance grows with word length, so
+ * short words must match exactly.
+ */
+public final class ExamFuzzyIndex {
+
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int NO_NODE = -1;
+
+    private final int size;
+    private final long[] dates;
+
+    // Terms and their row positions, by term id
+    private final String[] terms;
+    private final int[][] postings;
+
+    // BK-tree over term ids: first child, next sibling and distance to the parent
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edge;
+
+    ExamFuzzyIndex(String[] subjectKeys, StringDictionary degreeDictionary, int[] degreeCodes, long[] dates) {
+        this.size = subjectKeys.length;
+        this.dates = dates;
+
+        Map<String, List<Integer>> rowsByTerm = new LinkedHashMap<>();
+        for (int row = 0; row < size; row++) {
+            addTerms(rowsByTerm, subjectKeys[row], row);
+            addTerms(rowsByTerm, degreeDictionary.searchKey(degreeCodes[row]), row);
+        }
+        int count = rowsByTerm.size();
+        this.terms = rowsByTerm.keySet().toArray(new String[0]);
+        this.postings = new int[count][];
+        for (int term = 0; term < count; term++) {
+            postings[term] = rowsByTerm.get(terms[term]).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.firstChild = new int[count];
+        this.nextSibling = new int[count];
+        this.edge = new int[count];
+        Arrays.fill(firstChild, NO_NODE);
+        Arrays.fill(nextSibling, NO_NODE);
+        for (int term = 1; term < count; term++) {
+            insert(term);
+        }
+    }
+
+    /**
+     * Rows matching every word of the query within the allowed distance,
+     * closest first, then upcoming exams soonest first, then the remaining
+     * rows in date order.
+     *
+     * @param query Raw query; folded here
+     * @param now   Current instant in epoch seconds
+     * @return Row positions, best first
+     */
+    public int[] search(String query, long now) {
+        int[] total = distances(query);
+        if (total == null) {
+            return new int[0];
+        }
+        // Rows are in date order, so position order is date order within each group
+        return rank(size, row -> total[row], row -> dates[row], Integer::compare, now);
+    }
+
+    /**
+     * Summed distance per row for every word of the query.
+     *
+     * @param query Raw query; folded here
+     * @return Distance by row position, Integer.MAX_VALUE for rows missing a
+     *         word, or null when the query has no word long enough to match
+     */
+    int[] distances(String query) {
+        List<String> words = new ArrayList<>();
+        for (String word : SearchKeys.fold(query).split(" ")) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        if (terms.length == 0) {
+            int[] none = new int[size];
+            Arrays.fill(none, Integer.MAX_VALUE);
+            return none;
+        }
+
+        // Rows missing any word drop out
+        int[] total = null;
+        for (String word : words) {
+            int[] best = closest(word);
+            if (total == null) {
+                total = best;
+            } else {
+                for (int row = 0; row < size; row++) {
+                    total[row] = best[row] == Integer.MAX_VALUE || total[row] == Integer.MAX_VALUE
+                            ? Integer.MAX_VALUE
+                            : total[row] + best[row];
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Orders matching rows closest first, then upcoming exams first, then by
+     * the given row order.
+     *
+     * @param rows     Number of rows
+     * @param distance Distance per row, Integer.MAX_VALUE for rows to leave out
+     * @param date     Date per row, {@link ExamSnapshot#NO_DATE} when unknown
+     * @param order    Tiebreak between rows, normally (date, id)
+     * @param now      Current instant in epoch seconds
+     * @return Matching rows, best first
+     */
+    static int[] rank(int rows, IntUnaryOperator distance, IntToLongFunction date, Comparator<Integer> order,
+            long now) {
+        List<Integer> matches = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if (distance.applyAsInt(row) != Integer.MAX_VALUE) {
+                matches.add(row);
+            }
+        }
+        matches.sort(Comparator
+                .<Integer>comparingInt(distance::applyAsInt)
+                .thenComparing(row -> {
+                    long rowDate = date.applyAsLong(row);
+                    return rowDate != ExamSnapshot.NO_DATE && rowDate >= now ? 0 : 1;
+                })
+                .thenComparing(order));
+        return matches.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Edits allowed for a query word: none below four characters, one up to
+     * seven, two beyond.
+     */
+    static int maxEdits(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance, or max + 1 as soon as it is known to exceed max.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            // Every later row is at least this row's minimum
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // Best distance per row for one query word, Integer.MAX_VALUE where no term is close enough
+    private int[] closest(String word) {
+        int max = maxEdits(word.length());
+        int[] best = new int[size];
+        Arrays.fill(best, Integer.MAX_VALUE);
+        Map<Integer, Integer> found = new HashMap<>();
+        int[] stack = new int[terms.length];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            // Exact distance bounds which subtrees to visit; cap it only when the node cannot match
+            int d = distance(word, terms[node], Integer.MAX_VALUE - 1);
+            if (d <= max) {
+                found.put(node, d);
+            }
+            for (int child = firstChild[node]; child != NO_NODE; child = nextSibling[child]) {
+                if (edge[child] >= d - max && edge[child] <= d + max) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        for (Map.Entry<Integer, Integer> match : found.entrySet()) {
+            for (int row : postings[match.getKey()]) {
+                best[row] = Math.min(best[row], match.getValue());
+            }
+        }
+        return best;
+    }
+
+    private void insert(int term) {
+        int node = 0;
+        while (true) {
+            int d = distance(terms[term], terms[node], Integer.MAX_VALUE - 1);
+            int child = firstChild[node];
+            while (child != NO_NODE && edge[child] != d) {
+                child = nextSibling[child];
+            }
+            if (child == NO_NODE) {
+                edge[term] = d;
+                nextSibling[term] = firstChild[node];
+                firstChild[node] = term;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    private static void addTerms(Map<String, List<Integer>> rowsByTerm, String key, int row) {
+        if (key == null) {
+            return;
+        }
+        for (String word : key.split(" ")) {
+            if (word.length() < MIN_TERM_LENGTH) {
+                continue;
+            }
+            List<Integer> rows = rowsByTerm.computeIfAbsent(word, w -> new ArrayList<>());
+            // A row repeating a word is listed once; rows arrive in ascending order
+            if (rows.isEmpty() || rows.get(rows.size() - 1) != row) {
+                rows.add(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.upv.examcalendar.service;
+
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Static interval tree over exam time spans.
+ *
+ * An exam starts on its date at {@code exam_time}, or at midnight when the
+ * time is unknown, and ends {@code duration_minutes} later. Exams with a
+ * {@code duration_day} period (P1D, P2D, ...) block whole days instead, as
+ * do exams without a time. Exams with a time but no duration only occupy
+ * their start minute, so they clash with exams running at that moment.
+ *
+ * Intervals are half-open, sorted by start and laid out as an implicit
+ * balanced tree over the sorted array: the node for [lo, hi) is at
+ * (lo + hi) / 2 and stores the largest end in its range. An overlap query
+ * skips every subtree whose largest end is before the query start, so it
+ * costs O(log n + k) for k results. Exams without a date are not indexed.
+ */
+public final class ExamIntervalIndex {
+
+    static final long SECONDS_PER_DAY = 86_400L;
+    private static final long MIN_SPAN_SECONDS = 60L;
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] rowIds;
+    private final long[] maxEnds;
+    // Start and end per row position, NO_DATE when the row is not indexed
+    private final long[] startByRow;
+    private final long[] endByRow;
+
+    /**
+     * @param dates         Date per row position (epoch seconds), {@link ExamSnapshot#NO_DATE} when unknown
+     * @param examTimes     Start time per row, HH:mm or HH:mm:ss, may be null
+     * @param durations     Duration in minutes per row, {@link ExamSnapshot#NO_DURATION} when unknown
+     * @param durationDays  ISO-8601 day period per row, may be null
+     */
+    ExamIntervalIndex(long[] dates, String[] examTimes, int[] durations, String[] durationDays) {
+        int size = dates.length;
+        this.startByRow = new long[size];
+        this.endByRow = new long[size];
+        int indexed = 0;
+        for (int i = 0; i < size; i++) {
+            if (dates[i] == ExamSnapshot.NO_DATE) {
+                startByRow[i] = ExamSnapshot.NO_DATE;
+                endByRow[i] = ExamSnapshot.NO_DATE;
+                continue;
+            }
+            long day = Math.floorDiv(dates[i], SECONDS_PER_DAY) * SECONDS_PER_DAY;
+            long timeOfDay = parseTime(examTimes[i]);
+            int days = parseDays(durationDays[i]);
+            long start = timeOfDay >= 0 ? day + timeOfDay : dates[i];
+            long end;
+            if (days > 0) {
+                end = day + days * SECONDS_PER_DAY;
+            } else if (timeOfDay < 0 && dates[i] == day) {
+                end = day + SECONDS_PER_DAY;
+            } else if (durations[i] != ExamSnapshot.NO_DURATION && durations[i] > 0) {
+                end = start + durations[i] * 60L;
+            } else {
+                end = start + MIN_SPAN_SECONDS;
+            }
+            startByRow[i] = start;
+            endByRow[i] = Math.max(end, start + MIN_SPAN_SECONDS);
+            indexed++;
+        }
+
+        Integer[] order = new Integer[indexed];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (startByRow[i] != ExamSnapshot.NO_DATE) {
+                order[next++] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> startByRow[a] != startByRow[b]
+                ? Long.compare(startByRow[a], startByRow[b])
+                : Integer.compare(a, b));
+
+        this.starts = new long[indexed];
+        this.ends = new long[indexed];
+        this.rowIds = new int[indexed];
+        for (int i = 0; i < indexed; i++) {
+            rowIds[i] = order[i];
+            starts[i] = startByRow[order[i]];
+            ends[i] = endByRow[order[i]];
+        }
+        this.maxEnds = new long[indexed];
+        buildMaxEnds(0, indexed);
+    }
+
+    /**
+     * Number of indexed exams.
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Start of a row's interval in epoch seconds, {@link ExamSnapshot#NO_DATE} when not indexed.
+     */
+    public long start(int rowId) {
+        return startByRow[rowId];
+    }
+
+    /**
+     * Exclusive end of a row's interval in epoch seconds, {@link ExamSnapshot#NO_DATE} when not indexed.
+     */
+    public long end(int rowId) {
+        return endByRow[rowId];
+    }
+
+    /**
+     * Rows whose interval overlaps [start, end).
+     *
+     * @return Row positions in start order
+     */
+    public int[] overlapping(long start, long end) {
+        if (end <= start) {
+            return new int[0];
+        }
+        Hits hits = new Hits();
+        collect(0, starts.length, start, end, hits);
+        return hits.toArray();
+    }
+
+    /**
+     * Rows whose interval overlaps the given row's, excluding the row itself.
+     *
+     * @return Row positions in start order, empty when the row is not indexed
+     */
+    public int[] overlapping(int rowId) {
+        if (startByRow[rowId] == ExamSnapshot.NO_DATE) {
+            return new int[0];
+        }
+        int[] all = overlapping(startByRow[rowId], endByRow[rowId]);
+        int[] result = new int[all.length];
+        int count = 0;
+        for (int other : all) {
+            if (other != rowId) {
+                result[count++] = other;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Overlapping pairs among the given rows only, found by sweeping them in
+     * start order: each row overlaps exactly the following rows that start
+     * before it ends. Costs O(k log k + p) for k rows and p pairs, however
+     * many other exams overlap them.
+     *
+     * @param rows Row positions; rows that are not indexed are skipped
+     * @return Pairs of row positions, earlier start (then lower position) first, in start order
+     */
+    public List<int[]> overlappingPairs(int[] rows) {
+        return overlappingPairs(rows, this::start, this::end, Integer::compare);
+    }
+
+    /**
+     * The same sweep over rows whose spans come from elsewhere, such as rows
+     * spread over several snapshots.
+     *
+     * @param rows  Row ids; rows starting at {@link ExamSnapshot#NO_DATE} are skipped
+     * @param start Start per row
+     * @param end   Exclusive end per row
+     * @param order Tiebreak between rows starting together
+     * @return Pairs of row ids, earlier start (then tiebreak) first, in start order
+     */
+    static List<int[]> overlappingPairs(int[] rows, IntToLongFunction start, IntToLongFunction end,
+            Comparator<Integer> order) {
+        int[] sorted = Arrays.stream(rows)
+                .filter(row -> start.applyAsLong(row) != ExamSnapshot.NO_DATE)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(start::applyAsLong).thenComparing(order))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < sorted.length; i++) {
+            long rowEnd = end.applyAsLong(sorted[i]);
+            for (int j = i + 1; j < sorted.length && start.applyAsLong(sorted[j]) < rowEnd; j++) {
+                pairs.add(new int[] { sorted[i], sorted[j] });
+            }
+        }
+        return pairs;
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, long start, long end, Hits hits) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Nothing in this subtree ends after the query starts
+        if (maxEnds[mid] <= start) {
+            return;
+        }
+        collect(lo, mid, start, end, hits);
+        // Starts are sorted, so the right subtree only starts later still
+        if (starts[mid] >= end) {
+            return;
+        }
+        if (ends[mid] > start) {
+            hits.add(rowIds[mid]);
+        }
+        collect(mid + 1, hi, start, end, hits);
+    }
+
+    /**
+     * Seconds since midnight, or -1 when the time is missing or malformed.
+     */
+    static long parseTime(String time) {
+        if (time == null || time.isBlank()) {
+            return -1;
+        }
+        try {
+            return LocalTime.parse(time.trim()).toSecondOfDay();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Whole days from an ISO-8601 period such as P2D, or 0 when absent or malformed.
+     */
+    static int parseDays(String period) {
+        if (period == null || period.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Period.parse(period.trim()).getDays());
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Growable buffer for one query's results.
+     */
+    private static final class Hits {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
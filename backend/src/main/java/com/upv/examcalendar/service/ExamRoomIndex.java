@@ -0,0 +1,208 @@
+package com.upv.examcalendar.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Per-room timelines of exam time spans.
+ *
+ * For every room in the room dictionary, the dated exams held there are
+ * kept sorted by start, with their ends and a running maximum end. The
+ * running maximum never decreases, so the first exam that can still be in
+ * progress at an instant is found by binary search, and an overlap query
+ * scans only from there to the first exam starting after the window.
+ * Spans are the half-open intervals of {@link ExamIntervalIndex}.
+ */
+public final class ExamRoomIndex {
+
+    private final StringDictionary rooms;
+    // Per room code, in start order
+    private final Timeline[] timelines;
+
+    ExamRoomIndex(StringDictionary rooms, int[] roomCodes, ExamIntervalIndex intervals) {
+        this.rooms = rooms;
+        int roomCount = rooms.size();
+        int[] counts = new int[roomCount];
+        for (int i = 0; i < roomCodes.length; i++) {
+            if (roomCodes[i] != StringDictionary.NULL_CODE && intervals.start(i) != ExamSnapshot.NO_DATE) {
+                counts[roomCodes[i]]++;
+            }
+        }
+        int[][] rowsByRoom = new int[roomCount][];
+        int[] filled = new int[roomCount];
+        for (int code = 0; code < roomCount; code++) {
+            rowsByRoom[code] = new int[counts[code]];
+        }
+        for (int i = 0; i < roomCodes.length; i++) {
+            int code = roomCodes[i];
+            if (code != StringDictionary.NULL_CODE && intervals.start(i) != ExamSnapshot.NO_DATE) {
+                rowsByRoom[code][filled[code]++] = i;
+            }
+        }
+        this.timelines = new Timeline[roomCount];
+        for (int code = 0; code < roomCount; code++) {
+            timelines[code] = new Timeline(rowsByRoom[code], intervals::start, intervals::end, Integer::compare);
+        }
+    }
+
+    /**
+     * Rooms with at least one dated exam, ascending.
+     */
+    public List<String> rooms() {
+        List<String> used = new ArrayList<>();
+        for (int code = 0; code < timelines.length; code++) {
+            if (timelines[code].size() > 0) {
+                used.add(rooms.value(code));
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Exams in a room whose span overlaps [start, end).
+     *
+     * @return Row positions in start order; empty for unknown rooms
+     */
+    public int[] occupancy(String room, long start, long end) {
+        Timeline timeline = timeline(room);
+        return timeline != null ? timeline.occupancy(start, end) : new int[0];
+    }
+
+    /**
+     * Rooms with no exam overlapping [start, end), ascending. Only rooms that
+     * appear in the snapshot are considered.
+     */
+    public List<String> freeRooms(long start, long end) {
+        List<String> free = new ArrayList<>();
+        for (int code = 0; code < timelines.length; code++) {
+            if (!timelines[code].isBusy(start, end)) {
+                free.add(rooms.value(code));
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Pairs of exams whose spans overlap in the same room, optionally only
+     * those overlapping [start, end).
+     *
+     * @return Pairs of row positions, earlier start first, grouped by room in room order
+     */
+    public List<int[]> doubleBookings(long start, long end) {
+        List<int[]> pairs = new ArrayList<>();
+        for (Timeline timeline : timelines) {
+            timeline.doubleBookings(start, end, pairs);
+        }
+        return pairs;
+    }
+
+    /**
+     * Every room in the dictionary, including rooms with only undated exams, ascending.
+     */
+    List<String> allRooms() {
+        return rooms.values();
+    }
+
+    /**
+     * Timeline of a room, or null for rooms not in the dictionary.
+     */
+    Timeline timeline(String room) {
+        int code = rooms.code(room);
+        return code != StringDictionary.NULL_CODE ? timelines[code] : null;
+    }
+
+    /**
+     * Dated exams of one room in start order, with a running maximum end.
+     */
+    static final class Timeline {
+        private final int[] rowIds;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        /**
+         * @param rows  Row ids of dated exams, in any order
+         * @param start Start per row
+         * @param end   Exclusive end per row
+         * @param order Tiebreak between rows starting together
+         */
+        Timeline(int[] rows, IntToLongFunction start, IntToLongFunction end, Comparator<Integer> order) {
+            Integer[] sorted = Arrays.stream(rows).boxed().toArray(Integer[]::new);
+            Arrays.sort(sorted, Comparator.<Integer>comparingLong(start::applyAsLong).thenComparing(order));
+            int n = sorted.length;
+            this.rowIds = new int[n];
+            this.starts = new long[n];
+            this.ends = new long[n];
+            this.maxEnds = new long[n];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                rowIds[i] = sorted[i];
+                starts[i] = start.applyAsLong(sorted[i]);
+                ends[i] = end.applyAsLong(sorted[i]);
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        int size() {
+            return rowIds.length;
+        }
+
+        /**
+         * Row ids in start order.
+         */
+        int[] rows() {
+            return rowIds.clone();
+        }
+
+        int[] occupancy(long start, long end) {
+            if (end <= start) {
+                return new int[0];
+            }
+            int[] result = new int[rowIds.length];
+            int count = 0;
+            for (int i = firstEndingAfter(start); i < starts.length && starts[i] < end; i++) {
+                if (ends[i] > start) {
+                    result[count++] = rowIds[i];
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        boolean isBusy(long start, long end) {
+            for (int i = firstEndingAfter(start); i < starts.length && starts[i] < end; i++) {
+                if (ends[i] > start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void doubleBookings(long start, long end, List<int[]> pairs) {
+            for (int i = firstEndingAfter(start); i < starts.length && starts[i] < end; i++) {
+                // Later exams overlap this one until they start at or after its end
+                for (int j = i + 1; j < starts.length && starts[j] < ends[i]; j++) {
+                    pairs.add(new int[] { rowIds[i], rowIds[j] });
+                }
+            }
+        }
+
+        // First index whose running max end is after the instant; no earlier exam can still be running
+        private int firstEndingAfter(long instant) {
+            int low = 0;
+            int high = maxEnds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnds[mid] <= instant) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
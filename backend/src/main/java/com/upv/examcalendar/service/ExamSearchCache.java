@@ -0,0 +1,142 @@
+package com.upv.examcalendar.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.upv.examcalendar.dto.ExamSummaryDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Search result pages keyed by the query, normalised only as far as the
+ * strategy answering it ignores the difference.
+ *
+ * The in-memory snapshot folds (see {@link SearchKeys}) and matches words in
+ * any order, so its keys are folded and word-sorted: "Redes", "redes " and
+ * "REDES" share one entry. The folded search_key and full-text strategies
+ * ignore case and accents but not word order, and LIKE only ignores case, so
+ * their keys keep what they depend on. The key also carries the strategy,
+ * the search mode, the page request and the snapshot version, so results
+ * built from an older snapshot are never served after a write or reload.
+ *
+ * Queries with no hits at all go to a separate, short-lived cache keyed
+ * without the page, so a burst of misspelt or empty searches is answered
+ * for every page without reaching a strategy, yet new exams show up soon.
+ * Caffeine statistics of both caches are exported under their cache names,
+ * and the combined hit ratio as exams.search.cache.hit.ratio.
+ */
+@Component
+public class ExamSearchCache {
+
+    public static final String RESULTS_CACHE = "examSearchResults";
+    public static final String MISSES_CACHE = "examSearchMisses";
+
+    private final Cache<String, Page<ExamSummaryDto>> results;
+    private final Cache<String, Boolean> misses;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public ExamSearchCache(
+            MeterRegistry meterRegistry,
+            @Value("${exams.search.cache.max-size:1000}") long maxSize,
+            @Value("${exams.search.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${exams.search.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.misses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(negativeTtlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, RESULTS_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, misses, MISSES_CACHE);
+        Gauge.builder("exams.search.cache.hit.ratio", this, ExamSearchCache::hitRatio)
+                .description("Share of searches answered from the result or zero-hit cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached page for a query, running the search on a miss.
+     *
+     * @param mode     Search mode, such as "search" or "fuzzy"; modes never share entries
+     * @param strategy Strategy that will answer the query; strategies never share entries
+     * @param query    Query as typed
+     * @param pageable Page request
+     * @param version  Version of the data the search reads
+     * @param search   Runs the search
+     * @return The page
+     */
+    public Page<ExamSummaryDto> get(String mode, ExamSearchStrategy strategy, String query, Pageable pageable,
+            long version, Supplier<Page<ExamSummaryDto>> search) {
+        lookups.increment();
+        String queryKey = mode + '|' + strategy + '|' + version + '|' + normalize(strategy, query);
+        if (misses.getIfPresent(queryKey) != null) {
+            hits.increment();
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        String pageKey = queryKey + '|' + pageable;
+        Page<ExamSummaryDto> cached = results.getIfPresent(pageKey);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        Page<ExamSummaryDto> page = search.get();
+        if (page.getTotalElements() == 0) {
+            misses.put(queryKey, Boolean.TRUE);
+        } else {
+            results.put(pageKey, page);
+        }
+        return page;
+    }
+
+    /**
+     * Removes every cached page and zero-hit query.
+     */
+    public void invalidateAll() {
+        results.invalidateAll();
+        misses.invalidateAll();
+    }
+
+    /**
+     * Share of lookups answered from either cache, 0 before the first lookup.
+     */
+    public double hitRatio() {
+        long total = lookups.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * Query reduced to what the strategy's results depend on.
+     */
+    static String normalize(ExamSearchStrategy strategy, String query) {
+        if (strategy == ExamSearchStrategy.IN_MEMORY) {
+            String folded = SearchKeys.fold(query);
+            if (folded.isEmpty()) {
+                return folded;
+            }
+            String[] words = folded.split(" ");
+            Arrays.sort(words);
+            return String.join(" ", words);
+        }
+        if (strategy == ExamSearchStrategy.FULL_TEXT || strategy == ExamSearchStrategy.TRIGRAM) {
+            return SearchKeys.fold(query);
+        }
+        // ILIKE on the raw term: only case is ignored
+        return query != null ? query.toLowerCase(Locale.ROOT) : "";
+    }
+}
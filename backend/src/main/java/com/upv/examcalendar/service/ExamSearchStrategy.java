@@ -0,0 +1,15 @@
+package com.upv.examcalendar.service;
+
+/**
+ * Ways of answering a text search, best first.
+ */
+public enum ExamSearchStrategy {
+    /** The in-memory snapshot's trigram indexes. */
+    IN_MEMORY,
+    /** Ranked full-text search on the stored search_vector column (db/exam_search_vector.sql). */
+    FULL_TEXT,
+    /** Trigram-indexed LIKE on the folded search_key column (db/exam_search_keys.sql). */
+    TRIGRAM,
+    /** Plain ILIKE on the raw columns; always available. */
+    LIKE
+}
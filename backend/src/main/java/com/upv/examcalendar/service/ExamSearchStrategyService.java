@@ -0,0 +1,148 @@
+package com.upv.examcalendar.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which database search strategy {@link ExamService} uses.
+ *
+ * The database features each strategy depends on (generated columns,
+ * indexes, extensions) are applied by hand, so they may be missing. Rather
+ * than trying the best query on every search and falling back on the
+ * exception, each strategy is probed once at startup and again on a fixed
+ * schedule on a background thread. A probe runs a one-row query and checks
+ * that the supporting index exists, so a strategy that would work but scan
+ * the table is not chosen. Searches read the result from a volatile field.
+ *
+ * The strategy in use, including {@link ExamSearchStrategy#IN_MEMORY} while
+ * a snapshot is loaded, is exported as the exams.search.strategy gauge, one
+ * series per strategy with value 1 for the active one.
+ */
+@Service
+@Slf4j
+public class ExamSearchStrategyService {
+
+    private static final String FULL_TEXT_PROBE = "SELECT id FROM \"ETSINF\" WHERE search_vector @@ "
+            + "plainto_tsquery('spanish', public.f_unaccent('probe')) LIMIT 1";
+    private static final String FULL_TEXT_INDEX = "idx_etsinf_search_vector";
+    private static final String TRIGRAM_PROBE = "SELECT id FROM \"ETSINF\" WHERE search_key LIKE '%probe%' LIMIT 1";
+    private static final String TRIGRAM_INDEX = "idx_etsinf_search_key_trgm";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExamSnapshotService examSnapshotService;
+    private final long probeIntervalSeconds;
+
+    private volatile ExamSearchStrategy databaseStrategy = ExamSearchStrategy.LIKE;
+    private ScheduledExecutorService scheduler;
+
+    public ExamSearchStrategyService(
+            JdbcTemplate jdbcTemplate,
+            ExamSnapshotService examSnapshotService,
+            MeterRegistry meterRegistry,
+            @Value("${exams.search.probe-seconds:600}") long probeIntervalSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.examSnapshotService = examSnapshotService;
+        this.probeIntervalSeconds = probeIntervalSeconds;
+        for (ExamSearchStrategy strategy : ExamSearchStrategy.values()) {
+            Gauge.builder("exams.search.strategy", this, service -> service.current() == strategy ? 1 : 0)
+                    .tag("strategy", strategy.name().toLowerCase(Locale.ROOT))
+                    .description("1 for the search strategy currently in use")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        probe();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exam-search-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probe, probeIntervalSeconds, probeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Strategy that currently answers searches: in-memory while a snapshot
+     * is loaded, otherwise the best database strategy.
+     */
+    public ExamSearchStrategy current() {
+        return examSnapshotService.getSnapshot() != null ? ExamSearchStrategy.IN_MEMORY : databaseStrategy;
+    }
+
+    /**
+     * Best database strategy found by the last probe. Never touches the database.
+     */
+    public ExamSearchStrategy databaseStrategy() {
+        return databaseStrategy;
+    }
+
+    /**
+     * Falls back to LIKE after a strategy's query failed despite a successful
+     * probe, such as when a column is dropped. The next scheduled probe may
+     * restore it.
+     */
+    public void markUnavailable(ExamSearchStrategy strategy) {
+        synchronized (this) {
+            if (strategy == databaseStrategy) {
+                use(ExamSearchStrategy.LIKE);
+            }
+        }
+    }
+
+    /**
+     * Probes the database strategies, best first, and switches to the first available one.
+     */
+    synchronized void probe() {
+        if (available(FULL_TEXT_PROBE, FULL_TEXT_INDEX)) {
+            use(ExamSearchStrategy.FULL_TEXT);
+        } else if (available(TRIGRAM_PROBE, TRIGRAM_INDEX)) {
+            use(ExamSearchStrategy.TRIGRAM);
+        } else {
+            use(ExamSearchStrategy.LIKE);
+        }
+    }
+
+    private synchronized void use(ExamSearchStrategy strategy) {
+        if (strategy != databaseStrategy) {
+            log.info("Exam search strategy changed from {} to {}", databaseStrategy, strategy);
+            databaseStrategy = strategy;
+        }
+    }
+
+    // Runs outside any request transaction, so a failing probe cannot mark one rollback-only
+    private boolean available(String probeQuery, String indexName) {
+        try {
+            jdbcTemplate.queryForList(probeQuery);
+            Boolean indexed = jdbcTemplate.queryForObject(
+                    "SELECT to_regclass(?) IS NOT NULL", Boolean.class, "public." + indexName);
+            if (!Boolean.TRUE.equals(indexed)) {
+                log.debug("Search index {} is missing", indexName);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.debug("Search probe failed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package com.upv.examcalendar.service;
 
+import com.upv.examcalendar.dto.CursorPageDto;
+import com.upv.examcalendar.dto.ExamClashesDto;
 import com.upv.examcalendar.dto.ExamDto;
+import com.upv.examcalendar.dto.ExamFacetsDto;
 import com.upv.examcalendar.dto.ExamProjection;
+import com.upv.examcalendar.dto.ExamSuggestionDto;
 import com.upv.examcalendar.dto.ExamSummaryDto;
 import com.upv.examcalendar.model.Exam;
 import com.upv.examcalendar.repository.ExamRepository;
 import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,14 +49,21 @@ import java.util.stream.Collectors;
  * 
  * Based on Spring Boot service layer best practices and Supabase integration
  * patterns.
+ * 
+ * Reads are answered from the in-memory {@link ExamSnapshot} when one is
+ * loaded and fall back to the repository otherwise. Reads are deliberately
+ * not wrapped in a transaction so that snapshot hits never borrow a
+ * connection from the pool.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class ExamService {
 
     private final ExamRepository examRepository;
+    private final ExamSnapshotService examSnapshotService;
+    private final ExamSearchStrategyService searchStrategyService;
+    private final ExamSearchCache searchCache;
 
     /**
      * Retrieves all exams with optional filtering.
@@ -49,6 +75,10 @@ public class ExamService {
     @Timed(value = "exam.service.getAll", description = "Time taken to fetch all exams")
     public List<ExamDto> getAllExams() {
         log.debug("Fetching all exams from ETSINF table");
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return toDtos(snapshot, snapshot.findAll());
+        }
         List<Exam> exams = examRepository.findAll();
         return exams.stream()
                 .map(this::convertToDto)
@@ -65,6 +95,11 @@ public class ExamService {
     public Page<ExamDto> getAllExams(Pageable pageable) {
         log.debug("Fetching exams with pagination: page {}, size {}",
                 pageable.getPageNumber(), pageable.getPageSize());
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        Page<ExamSnapshot.Row> rows = snapshot != null ? snapshot.pageAll(pageable) : null;
+        if (rows != null) {
+            return rows.map(this::convertToDto);
+        }
         Page<Exam> examPage = examRepository.findAll(pageable);
         return examPage.map(this::convertToDto);
     }
@@ -80,10 +115,179 @@ public class ExamService {
     public Page<ExamSummaryDto> getAllExamsSummary(Pageable pageable) {
         log.debug("Fetching exam summaries with pagination: page {}, size {}",
                 pageable.getPageNumber(), pageable.getPageSize());
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        Page<ExamSnapshot.Row> rows = snapshot != null ? snapshot.pageAll(pageable) : null;
+        if (rows != null) {
+            return rows.map(this::convertToSummaryDto);
+        }
         Page<Exam> examPage = examRepository.findAll(pageable);
         return examPage.map(this::convertToSummaryDto);
     }
 
+    /**
+     * Keyset-paginated exam summaries in (date, id) order, for infinite scroll.
+     * Unlike offset pages, reading deep into the list costs the same as the
+     * first slice, and rows inserted meanwhile never shift between slices.
+     *
+     * @param cursor Cursor from a previous slice, or null for the first one
+     * @param size   Slice size
+     * @return The slice with cursors to its neighbours
+     */
+    @Timed(value = "exam.service.scrollAll", description = "Time taken to fetch a keyset slice of exams")
+    public CursorPageDto<ExamSummaryDto> scrollAllExams(ExamCursor cursor, int size) {
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return slice(scroll(snapshot, snapshot.findAll(), cursor, size), cursor, size);
+        }
+        return slice(scroll(null, cursor, size), cursor, size);
+    }
+
+    /**
+     * Keyset-paginated exams of a degree; see {@link #scrollAllExams}.
+     */
+    @Timed(value = "exam.service.scrollByDegree", description = "Time taken to fetch a keyset slice of a degree")
+    public CursorPageDto<ExamSummaryDto> scrollExamsByDegree(String degree, ExamCursor cursor, int size) {
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return slice(scroll(snapshot, snapshot.findByDegree(degree), cursor, size), cursor, size);
+        }
+        Specification<Exam> byDegree = (root, query, cb) -> cb.equal(root.get("degree"), degree);
+        return slice(scroll(byDegree, cursor, size), cursor, size);
+    }
+
+    /**
+     * Keyset-paginated exams whose subject contains a term; see {@link #scrollAllExams}.
+     */
+    @Timed(value = "exam.service.scrollBySubject", description = "Time taken to fetch a keyset slice of a subject")
+    public CursorPageDto<ExamSummaryDto> scrollExamsBySubject(String subject, ExamCursor cursor, int size) {
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return slice(scroll(snapshot, snapshot.findBySubjectContaining(subject), cursor, size), cursor, size);
+        }
+        return slice(scrollMatching(folded -> containing(subject, folded, "subject"), cursor, size), cursor, size);
+    }
+
+    /**
+     * Keyset-paginated search results in date order; see {@link #scrollAllExams}.
+     * Every whitespace-separated term must appear in the subject, acronym or degree,
+     * compared accent-insensitively whenever the database has public.f_unaccent.
+     */
+    @Timed(value = "exam.service.scrollSearch", description = "Time taken to fetch a keyset slice of search results")
+    public CursorPageDto<ExamSummaryDto> scrollSearch(String searchTerm, ExamCursor cursor, int size) {
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return slice(scroll(snapshot, snapshot.search(searchTerm), cursor, size), cursor, size);
+        }
+        String[] terms = searchTerm.trim().split("\\s+");
+        return slice(scrollMatching(folded -> {
+            Specification<Exam> matches = Specification.where(null);
+            for (String term : terms) {
+                matches = matches.and(containing(term, folded, "subject", "acronym", "degree"));
+            }
+            return matches;
+        }, cursor, size), cursor, size);
+    }
+
+    // One more row than the slice, in scan order, so the slice knows whether more follow
+    private List<ExamSummaryDto> scroll(ExamSnapshot snapshot, int[] positions, ExamCursor cursor, int size) {
+        return snapshot.rows(snapshot.seek(positions, cursor, size + 1)).stream()
+                .map(this::convertToSummaryDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Scrolls a text filter folded the same way as the search_key column
+     * while a probed strategy guarantees public.f_unaccent exists, and with
+     * plain lower-case LIKE otherwise. A folded query that fails despite the
+     * probe demotes the strategy, as in {@link #searchExams}.
+     */
+    private List<ExamSummaryDto> scrollMatching(Function<Boolean, Specification<Exam>> filter, ExamCursor cursor,
+            int size) {
+        ExamSearchStrategy strategy = searchStrategyService.databaseStrategy();
+        if (strategy == ExamSearchStrategy.LIKE) {
+            return scroll(filter.apply(false), cursor, size);
+        }
+        try {
+            return scroll(filter.apply(true), cursor, size);
+        } catch (RuntimeException e) {
+            log.warn("Folded scroll failed, falling back to LIKE: {}", e.getMessage());
+            searchStrategyService.markUnavailable(strategy);
+            return scroll(filter.apply(false), cursor, size);
+        }
+    }
+
+    private List<ExamSummaryDto> scroll(Specification<Exam> filter, ExamCursor cursor, int size) {
+        boolean backward = cursor != null && !cursor.isAfter();
+        // PostgreSQL sorts nulls last ascending and first descending, matching the keyset order
+        Sort order = backward
+                ? Sort.by(Sort.Direction.DESC, "date", "id")
+                : Sort.by(Sort.Direction.ASC, "date", "id");
+        Specification<Exam> spec = Specification.where(filter).and(seek(cursor));
+        return examRepository.findBy(spec, query -> query.sortBy(order).limit(size + 1).all()).stream()
+                .map(this::convertToSummaryDto)
+                .collect(Collectors.toList());
+    }
+
+    // Rows strictly after or before the cursor row in (date, id) order, undated rows last
+    private static Specification<Exam> seek(ExamCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        LocalDateTime date = cursor.getDateTime();
+        long id = cursor.getId();
+        return (root, query, cb) -> {
+            Path<LocalDateTime> examDate = root.get("date");
+            Path<Long> examId = root.get("id");
+            if (cursor.isAfter()) {
+                return date == null
+                        ? cb.and(cb.isNull(examDate), cb.gt(examId, id))
+                        : cb.or(cb.greaterThan(examDate, date),
+                                cb.and(cb.equal(examDate, date), cb.gt(examId, id)),
+                                cb.isNull(examDate));
+            }
+            return date == null
+                    ? cb.or(cb.isNotNull(examDate), cb.lt(examId, id))
+                    : cb.or(cb.lessThan(examDate, date), cb.and(cb.equal(examDate, date), cb.lt(examId, id)));
+        };
+    }
+
+    // Folded: lower(f_unaccent(column)) against SearchKeys.fold(term), matching search_key and the snapshot
+    private static Specification<Exam> containing(String term, boolean folded, String... attributes) {
+        String pattern = "%" + (folded ? SearchKeys.fold(term) : term.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(Arrays.stream(attributes)
+                .map(attribute -> {
+                    Expression<String> column = root.get(attribute);
+                    if (folded) {
+                        column = cb.function("public.f_unaccent", String.class, column);
+                    }
+                    return cb.like(cb.lower(column), pattern);
+                })
+                .toArray(Predicate[]::new));
+    }
+
+    /**
+     * Trims the extra scanned row and sets the neighbour cursors. A slice read
+     * backwards is put back in ascending order.
+     */
+    private static CursorPageDto<ExamSummaryDto> slice(List<ExamSummaryDto> scanned, ExamCursor cursor, int size) {
+        boolean backward = cursor != null && !cursor.isAfter();
+        boolean more = scanned.size() > size;
+        List<ExamSummaryDto> items = new ArrayList<>(scanned.subList(0, Math.min(size, scanned.size())));
+        if (backward) {
+            Collections.reverse(items);
+        }
+        ExamSummaryDto first = items.isEmpty() ? null : items.get(0);
+        ExamSummaryDto last = items.isEmpty() ? null : items.get(items.size() - 1);
+        // Reading forward, more rows follow when the scan overflowed; reading backward, more precede
+        boolean hasNext = backward ? last != null : more;
+        boolean hasPrev = backward ? more : cursor != null && first != null;
+        return CursorPageDto.<ExamSummaryDto>builder()
+                .items(items)
+                .next(hasNext ? ExamCursor.after(last.getDate(), last.getId()).encode() : null)
+                .prev(hasPrev ? ExamCursor.before(first.getDate(), first.getId()).encode() : null)
+                .build();
+    }
+
     /**
      * Retrieves an exam by ID.
      * 
@@ -93,6 +297,10 @@ public class ExamService {
     @Timed(value = "exam.service.getById", description = "Time taken to fetch exam by ID")
     public Optional<ExamDto> getExamById(Long id) {
         log.debug("Fetching exam with ID: {}", id);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return Optional.ofNullable(snapshot.findById(id)).map(this::convertToDto);
+        }
         return examRepository.findById(id)
                 .map(this::convertToDto);
     }
@@ -107,6 +315,10 @@ public class ExamService {
     @Timed(value = "exam.service.getByDegree", description = "Time taken to fetch exams by degree")
     public Page<ExamSummaryDto> getExamsByDegree(String degree, Pageable pageable) {
         log.debug("Fetching exams for degree: {} with pagination", degree);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.page(snapshot.findByDegree(degree), pageable).map(this::convertToSummaryDto);
+        }
         Page<ExamProjection> projections = examRepository.findByDegreeOrderByDateAsc(degree, pageable);
         return projections.map(this::convertProjectionToSummaryDto);
     }
@@ -122,6 +334,10 @@ public class ExamService {
     @Timed(value = "exam.service.getByDegreeLegacy", description = "Time taken to fetch exams by degree (legacy)")
     public List<ExamDto> getExamsByDegree(String degree) {
         log.debug("Fetching exams for degree: {}", degree);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return toDtos(snapshot, snapshot.findByDegree(degree));
+        }
         List<Exam> exams = examRepository.findByDegreeOrderByDateAsc(degree);
         return exams.stream()
                 .map(this::convertToDto)
@@ -138,6 +354,11 @@ public class ExamService {
     @Timed(value = "exam.service.getBySubject", description = "Time taken to fetch exams by subject")
     public Page<ExamSummaryDto> getExamsBySubject(String subject, Pageable pageable) {
         log.debug("Fetching exams for subject: {} with pagination", subject);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.page(snapshot.findBySubjectContaining(subject), pageable)
+                    .map(this::convertToSummaryDto);
+        }
         Page<ExamProjection> projections = examRepository.findBySubjectContainingIgnoreCaseOrderByDateAsc(subject,
                 pageable);
         return projections.map(this::convertProjectionToSummaryDto);
@@ -154,6 +375,10 @@ public class ExamService {
     @Timed(value = "exam.service.getBySubjectLegacy", description = "Time taken to fetch exams by subject (legacy)")
     public List<ExamDto> getExamsBySubject(String subject) {
         log.debug("Fetching exams for subject: {}", subject);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return toDtos(snapshot, snapshot.findBySubjectContaining(subject));
+        }
         List<Exam> exams = examRepository.findBySubjectContainingIgnoreCaseOrderByDateAsc(subject);
         return exams.stream()
                 .map(this::convertToDto)
@@ -171,6 +396,11 @@ public class ExamService {
     @Timed(value = "exam.service.getByYearAndSemester", description = "Time taken to fetch exams by year and semester")
     public Page<ExamSummaryDto> getExamsByYearAndSemester(String year, String semester, Pageable pageable) {
         log.debug("Fetching exams for year: {} and semester: {} with pagination", year, semester);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.page(snapshot.findByYearAndSemester(year, semester), pageable)
+                    .map(this::convertToSummaryDto);
+        }
         Page<ExamProjection> projections = examRepository.findByYearAndSemesterOrderByDateAsc(year, semester, pageable);
         return projections.map(this::convertProjectionToSummaryDto);
     }
@@ -187,6 +417,10 @@ public class ExamService {
     @Timed(value = "exam.service.getByYearAndSemesterLegacy", description = "Time taken to fetch exams by year and semester (legacy)")
     public List<ExamDto> getExamsByYearAndSemester(String year, String semester) {
         log.debug("Fetching exams for year: {} and semester: {}", year, semester);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return toDtos(snapshot, snapshot.findByYearAndSemester(year, semester));
+        }
         List<Exam> exams = examRepository.findByYearAndSemesterOrderByDateAsc(year, semester);
         return exams.stream()
                 .map(this::convertToDto)
@@ -206,13 +440,217 @@ public class ExamService {
     public Page<ExamSummaryDto> searchExamsByMultipleCriteria(String degree, String year, String semester,
             Pageable pageable) {
         log.debug("Searching exams with criteria - degree: {}, year: {}, semester: {}", degree, year, semester);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.page(snapshot.findByCriteria(degree, year, semester), pageable)
+                    .map(this::convertToSummaryDto);
+        }
         Page<ExamProjection> projections = examRepository.findByMultipleCriteria(degree, year, semester, pageable);
         return projections.map(this::convertProjectionToSummaryDto);
     }
 
+    /**
+     * Faceted search for the filter sidebar: one page of exams matching the
+     * selection plus per-value counts for every facet, from a single bitmap
+     * index lookup.
+     * 
+     * @param selection Selected value per facet (absent facets are unconstrained)
+     * @param pageable  Pagination information
+     * @return Matching page and facet counts
+     * @throws ExamSnapshotUnavailableException before the first snapshot load
+     */
+    @Timed(value = "exam.service.facets", description = "Time taken to compute exam facets")
+    public ExamFacetsDto getFacets(Map<ExamFacetIndex.Facet, String> selection, Pageable pageable) {
+        log.debug("Computing facets for selection: {}", selection);
+        ExamSnapshot snapshot = indexedSnapshot();
+        Page<ExamSummaryDto> page = snapshot.facetPage(selection, pageable).map(this::convertToSummaryDto);
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        snapshot.facetCounts(selection).forEach((facet, counts) -> facets.put(facet.paramName(), counts));
+
+        return ExamFacetsDto.builder()
+                .exams(page.getContent())
+                .totalElements(page.getTotalElements())
+                .page(pageable.isPaged() ? pageable.getPageNumber() : 0)
+                .size(page.getNumberOfElements())
+                .facets(facets)
+                .build();
+    }
+
+    /**
+     * Finds clashes between the exams of the given subjects: pairs whose time
+     * spans overlap, and days with exams of more than one subject. Rows
+     * sharing a subject or acronym are the same exam listed under several
+     * degrees and never clash with each other.
+     * 
+     * @param subjects Subject names, matched ignoring case
+     * @param acronyms Subject acronyms, matched ignoring case
+     * @return Overlapping pairs and same-day groups, both in date order
+     * @throws ExamSnapshotUnavailableException before the first snapshot load
+     */
+    @Timed(value = "exam.service.clashes", description = "Time taken to detect exam clashes")
+    public ExamClashesDto getClashes(Collection<String> subjects, Collection<String> acronyms) {
+        log.debug("Detecting clashes for subjects {} and acronyms {}", subjects, acronyms);
+        ExamSnapshot snapshot = indexedSnapshot();
+        int[] selected = snapshot.findBySubjectsOrAcronyms(subjects, acronyms);
+
+        // Sweep only the selected exams, so the cost does not depend on unrelated overlaps
+        List<ExamClashesDto.Overlap> overlaps = new ArrayList<>();
+        for (int[] pair : snapshot.overlappingPairs(selected)) {
+            ExamSnapshot.Row first = snapshot.row(pair[0]);
+            ExamSnapshot.Row second = snapshot.row(pair[1]);
+            if (!sameSubject(first, second)) {
+                overlaps.add(ExamClashesDto.Overlap.builder()
+                        .first(convertToDto(first))
+                        .second(convertToDto(second))
+                        .build());
+            }
+        }
+
+        TreeMap<Long, List<Integer>> byDay = new TreeMap<>();
+        for (int position : selected) {
+            long start = snapshot.intervalStart(position);
+            if (start == ExamSnapshot.NO_DATE) {
+                continue;
+            }
+            // Multi-day exams belong to every day they span
+            long lastDay = Math.floorDiv(snapshot.intervalEnd(position) - 1, ExamIntervalIndex.SECONDS_PER_DAY);
+            for (long day = Math.floorDiv(start, ExamIntervalIndex.SECONDS_PER_DAY); day <= lastDay; day++) {
+                byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(position);
+            }
+        }
+
+        List<ExamClashesDto.SameDay> sameDay = new ArrayList<>();
+        byDay.forEach((day, positions) -> {
+            long subjectCount = positions.stream().map(position -> clashKey(snapshot.row(position))).distinct().count();
+            if (subjectCount > 1) {
+                sameDay.add(ExamClashesDto.SameDay.builder()
+                        .date(LocalDate.ofEpochDay(day).toString())
+                        .exams(positions.stream().map(position -> convertToDto(snapshot.row(position))).toList())
+                        .build());
+            }
+        });
+
+        return ExamClashesDto.builder()
+                .overlaps(overlaps)
+                .sameDay(sameDay)
+                .build();
+    }
+
+    /**
+     * Retrieves the exams held in a room on a day, including exams that
+     * started earlier and are still running.
+     * 
+     * @param room The room
+     * @param day  The day
+     * @return List of ExamDto in start order
+     * @throws ExamSnapshotUnavailableException before the first snapshot load
+     */
+    public List<ExamDto> getRoomOccupancy(String room, LocalDate day) {
+        log.debug("Fetching occupancy of room {} on {}", room, day);
+        ExamSnapshot snapshot = indexedSnapshot();
+        long start = ExamSnapshot.encodeDate(day.atStartOfDay());
+        return toDtos(snapshot, snapshot.occupancy(room, start, start + ExamIntervalIndex.SECONDS_PER_DAY));
+    }
+
+    /**
+     * Retrieves the rooms with no exam overlapping a time slot. Only rooms
+     * that have held at least one exam are known.
+     * 
+     * @param start Slot start
+     * @param end   Slot end, exclusive
+     * @return Free rooms, ascending
+     * @throws ExamSnapshotUnavailableException before the first snapshot load
+     */
+    public List<String> getFreeRooms(LocalDateTime start, LocalDateTime end) {
+        log.debug("Fetching rooms free between {} and {}", start, end);
+        return indexedSnapshot().freeRooms(ExamSnapshot.encodeDate(start), ExamSnapshot.encodeDate(end));
+    }
+
+    /**
+     * Finds exams of different subjects booked into the same room at
+     * overlapping times.
+     * 
+     * @param from First day to check, or null for no lower bound
+     * @param to   Last day to check, or null for no upper bound
+     * @return Overlapping pairs by room, rooms ascending
+     * @throws ExamSnapshotUnavailableException before the first snapshot load
+     */
+    public Map<String, List<ExamClashesDto.Overlap>> getRoomDoubleBookings(LocalDate from, LocalDate to) {
+        log.debug("Detecting room double bookings between {} and {}", from, to);
+        ExamSnapshot snapshot = indexedSnapshot();
+        long start = from != null ? ExamSnapshot.encodeDate(from.atStartOfDay()) : Long.MIN_VALUE;
+        long end = to != null ? ExamSnapshot.encodeDate(to.plusDays(1).atStartOfDay()) : Long.MAX_VALUE;
+        Map<String, List<ExamClashesDto.Overlap>> bookings = new LinkedHashMap<>();
+        for (int[] pair : snapshot.doubleBookings(start, end)) {
+            ExamSnapshot.Row first = snapshot.row(pair[0]);
+            ExamSnapshot.Row second = snapshot.row(pair[1]);
+            if (sameSubject(first, second)) {
+                continue;
+            }
+            bookings.computeIfAbsent(first.getRoom(), room -> new ArrayList<>())
+                    .add(ExamClashesDto.Overlap.builder()
+                            .first(convertToDto(first))
+                            .second(convertToDto(second))
+                            .build());
+        }
+        return bookings;
+    }
+
+    /**
+     * Type-ahead suggestions for the search box: subjects whose name, any
+     * word of the name, acronym or code starts with the query, soonest
+     * upcoming exam first.
+     * 
+     * @param query Typed prefix
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, best first
+     * @throws ExamSnapshotUnavailableException before the first snapshot load
+     */
+    public List<ExamSuggestionDto> getSuggestions(String query, int limit) {
+        long now = ExamSnapshot.encodeDate(LocalDateTime.now());
+        List<ExamAutocompleteIndex.Suggestion> suggestions =
+                indexedSnapshot().suggest(SearchKeys.fold(query), now, limit);
+        List<ExamSuggestionDto> dtos = new ArrayList<>(suggestions.size());
+        for (ExamAutocompleteIndex.Suggestion suggestion : suggestions) {
+            dtos.add(ExamSuggestionDto.builder()
+                    .subject(suggestion.getSubject())
+                    .acronym(suggestion.getAcronym())
+                    .code(suggestion.getCode())
+                    .nextExam(ExamSnapshot.decodeDate(suggestion.getNextDate()))
+                    .build());
+        }
+        return dtos;
+    }
+
+    // Snapshot for index-only queries. These have no repository equivalent, and
+    // indexing the whole table per request would cost more than the outage it covers
+    private ExamSnapshot indexedSnapshot() {
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot == null) {
+            throw new ExamSnapshotUnavailableException();
+        }
+        return snapshot;
+    }
+
+    private static boolean sameSubject(ExamSnapshot.Row a, ExamSnapshot.Row b) {
+        return clashKey(a).equals(clashKey(b));
+    }
+
+    // Keys were folded when the snapshot was built
+    private static String clashKey(ExamSnapshot.Row row) {
+        if (row.getAcronymKey() != null) {
+            return row.getAcronymKey();
+        }
+        return row.getSubjectKey() != null ? row.getSubjectKey() : "";
+    }
+
     /**
      * Full-text search across subject and degree fields with pagination.
-     * Uses PostgreSQL full-text search when available, falls back to LIKE search.
+     * Uses the snapshot when loaded, otherwise the best database strategy
+     * found by {@link ExamSearchStrategyService}'s last probe, so a missing
+     * full-text setup costs nothing per search. Pages are cached under the
+     * normalised query by {@link ExamSearchCache}.
      * 
      * @param searchTerm The search term
      * @param pageable   Pagination information
@@ -220,17 +658,106 @@ public class ExamService {
      */
     @Timed(value = "exam.service.fullTextSearch", description = "Time taken to perform full-text search")
     public Page<ExamSummaryDto> searchExams(String searchTerm, Pageable pageable) {
+        return searchCache.get("search", searchStrategy(), searchTerm, pageable,
+                examSnapshotService.getVersion(), () -> search(searchTerm, pageable));
+    }
+
+    // Strategy that search(...) will use, so cached pages are keyed by what answered them
+    private ExamSearchStrategy searchStrategy() {
+        return examSnapshotService.getSnapshot() != null
+                ? ExamSearchStrategy.IN_MEMORY
+                : searchStrategyService.databaseStrategy();
+    }
+
+    private Page<ExamSummaryDto> search(String searchTerm, Pageable pageable) {
         log.debug("Performing full-text search for term: {}", searchTerm);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.page(snapshot.search(searchTerm), pageable).map(this::convertToSummaryDto);
+        }
+        ExamSearchStrategy strategy = searchStrategyService.databaseStrategy();
         try {
-            // Try optimized PostgreSQL full-text search first
-            Page<ExamProjection> projections = examRepository.searchExamsOptimized(searchTerm, pageable);
-            return projections.map(this::convertProjectionToSummaryDto);
-        } catch (Exception e) {
-            log.warn("Full-text search failed, falling back to LIKE search: {}", e.getMessage());
-            // Fallback to compatible LIKE search
-            Page<ExamProjection> projections = examRepository.searchExams(searchTerm, pageable);
-            return projections.map(this::convertProjectionToSummaryDto);
+            return searchWith(strategy, searchTerm, pageable).map(this::convertProjectionToSummaryDto);
+        } catch (RuntimeException e) {
+            if (strategy == ExamSearchStrategy.LIKE) {
+                throw e;
+            }
+            // Probed fine but failed now, e.g. a dropped column: stop using it until the next probe
+            log.warn("{} search failed, falling back to LIKE search: {}", strategy, e.getMessage());
+            searchStrategyService.markUnavailable(strategy);
+            return searchWith(ExamSearchStrategy.LIKE, searchTerm, pageable).map(this::convertProjectionToSummaryDto);
+        }
+    }
+
+    private Page<ExamProjection> searchWith(ExamSearchStrategy strategy, String searchTerm, Pageable pageable) {
+        switch (strategy) {
+            case FULL_TEXT:
+                return examRepository.searchExamsOptimized(searchTerm, pageable);
+            case TRIGRAM:
+                // Folded search_key column, accent-insensitive
+                return examRepository.searchBySearchKey(SearchKeys.fold(searchTerm), pageable);
+            default:
+                return examRepository.searchExams(searchTerm, pageable);
+        }
+    }
+
+    /**
+     * Relevance-ranked full-text search with highlighted snippets, answered
+     * by the database since snippets come from ts_headline. Uses
+     * {@link #searchExams} without snippets when full-text search is unavailable.
+     *
+     * @param searchTerm Search term
+     * @param pageable   Pagination information
+     * @return Page of matches, most relevant first, each with a highlight
+     */
+    @Timed(value = "exam.service.search.highlighted", description = "Time taken for highlighted exam search")
+    public Page<ExamSummaryDto> searchExamsHighlighted(String searchTerm, Pageable pageable) {
+        ExamSearchStrategy strategy = searchStrategyService.databaseStrategy() == ExamSearchStrategy.FULL_TEXT
+                ? ExamSearchStrategy.FULL_TEXT
+                : searchStrategy();
+        return searchCache.get("highlight", strategy, searchTerm, pageable, examSnapshotService.getVersion(),
+                () -> searchHighlighted(searchTerm, pageable));
+    }
+
+    private Page<ExamSummaryDto> searchHighlighted(String searchTerm, Pageable pageable) {
+        log.debug("Performing highlighted full-text search for term: {}", searchTerm);
+        if (searchStrategyService.databaseStrategy() != ExamSearchStrategy.FULL_TEXT) {
+            return search(searchTerm, pageable);
+        }
+        try {
+            return examRepository.searchExamsHighlighted(searchTerm, pageable)
+                    .map(hit -> new ExamSummaryDto(hit.getId(), hit.getSubject(), hit.getDegree(),
+                            hit.getDate(), hit.getRoom(), hit.getHeadline()));
+        } catch (RuntimeException e) {
+            log.warn("Highlighted search failed, searching without snippets: {}", e.getMessage());
+            searchStrategyService.markUnavailable(ExamSearchStrategy.FULL_TEXT);
+            return search(searchTerm, pageable);
+        }
+    }
+
+    /**
+     * Typo-tolerant search over subject and degree words, answered from the
+     * in-memory snapshot without touching the database once it is loaded.
+     *
+     * @param searchTerm Query as typed, possibly misspelt
+     * @param pageable   Pagination information
+     * @return Page of matches, closest first and then upcoming first
+     */
+    @Timed(value = "exam.service.search.fuzzy", description = "Time taken for fuzzy exam search")
+    public Page<ExamSummaryDto> searchExamsFuzzy(String searchTerm, Pageable pageable) {
+        return searchCache.get("fuzzy", searchStrategy(), searchTerm, pageable, examSnapshotService.getVersion(),
+                () -> searchFuzzy(searchTerm, pageable));
+    }
+
+    private Page<ExamSummaryDto> searchFuzzy(String searchTerm, Pageable pageable) {
+        log.debug("Performing fuzzy search for term: {}", searchTerm);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot == null) {
+            // The BK-tree only exists in the snapshot; exact matches beat no answer
+            return search(searchTerm, pageable);
         }
+        long now = ExamSnapshot.encodeDate(LocalDateTime.now());
+        return snapshot.page(snapshot.fuzzySearch(searchTerm, now), pageable).map(this::convertToSummaryDto);
     }
 
     /**
@@ -242,6 +769,10 @@ public class ExamService {
      */
     public List<ExamDto> getExamsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         log.debug("Fetching exams between {} and {}", startDate, endDate);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return toDtos(snapshot, snapshot.findByDateBetween(startDate, endDate));
+        }
         List<Exam> exams = examRepository.findByDateBetweenOrderByDateAsc(startDate, endDate);
         return exams.stream()
                 .map(this::convertToDto)
@@ -256,12 +787,36 @@ public class ExamService {
     public List<ExamDto> getUpcomingExams() {
         LocalDateTime now = LocalDateTime.now();
         log.debug("Fetching upcoming exams from {}", now);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return toDtos(snapshot, snapshot.findFrom(now));
+        }
         List<Exam> exams = examRepository.findByDateGreaterThanEqualOrderByDateAsc(now);
         return exams.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves the next exams from now onwards.
+     * 
+     * @param limit Maximum number of exams
+     * @return List of ExamDto, soonest first
+     */
+    public List<ExamDto> getUpcomingExams(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        log.debug("Fetching next {} exams from {}", limit, now);
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return toDtos(snapshot, snapshot.findNext(now, limit));
+        }
+        List<Exam> exams = examRepository.findByDateGreaterThanEqualOrderByDateAsc(now);
+        return exams.stream()
+                .limit(limit)
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Retrieves distinct degrees.
      * 
@@ -269,6 +824,10 @@ public class ExamService {
      */
     public List<String> getDistinctDegrees() {
         log.debug("Fetching distinct degrees");
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.getDegrees();
+        }
         return examRepository.findDistinctDegrees();
     }
 
@@ -279,6 +838,10 @@ public class ExamService {
      */
     public List<String> getDistinctYears() {
         log.debug("Fetching distinct years");
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.getYears();
+        }
         return examRepository.findDistinctYears();
     }
 
@@ -289,6 +852,10 @@ public class ExamService {
      */
     public List<String> getDistinctSemesters() {
         log.debug("Fetching distinct semesters");
+        ExamSnapshot snapshot = examSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.getSemesters();
+        }
         return examRepository.findDistinctSemesters();
     }
 
@@ -303,6 +870,7 @@ public class ExamService {
         log.debug("Creating new exam: {}", examDto.getSubject());
         Exam exam = convertToEntity(examDto);
         Exam savedExam = examRepository.save(exam);
+        examSnapshotService.applyAfterCommit(ExamDelta.upsert(savedExam));
         log.info("Successfully created exam with ID: {}", savedExam.getId());
         return convertToDto(savedExam);
     }
@@ -331,6 +899,7 @@ public class ExamService {
         existingExam.setSchool(examDto.getSchool());
 
         Exam savedExam = examRepository.save(existingExam);
+        examSnapshotService.applyAfterCommit(ExamDelta.upsert(savedExam));
         log.info("Successfully updated exam with ID: {}", savedExam.getId());
         return convertToDto(savedExam);
     }
@@ -348,6 +917,7 @@ public class ExamService {
             throw new RuntimeException("Exam not found with ID: " + id);
         }
         examRepository.deleteById(id);
+        examSnapshotService.applyAfterCommit(ExamDelta.delete(id));
         log.info("Successfully deleted exam with ID: {}", id);
     }
 
@@ -380,6 +950,41 @@ public class ExamService {
                 .build();
     }
 
+    /**
+     * Converts a snapshot row to ExamDto.
+     * 
+     * @param row The snapshot row
+     * @return ExamDto
+     */
+    private ExamDto convertToDto(ExamSnapshot.Row row) {
+        return ExamDto.builder()
+                .id(row.getId())
+                .subject(row.getSubject())
+                .degree(row.getDegree())
+                .year(row.getYear())
+                .semester(row.getSemester())
+                .date(row.getDate())
+                .room(row.getRoom())
+                .school(row.getSchool())
+                .build();
+    }
+
+    private List<ExamDto> toDtos(ExamSnapshot snapshot, int[] positions) {
+        List<ExamDto> dtos = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            dtos.add(convertToDto(snapshot.row(position)));
+        }
+        return dtos;
+    }
+
+    private List<ExamDto> toDtos(ExamSnapshot snapshot, ExamDateIndex.RowView view) {
+        List<ExamDto> dtos = new ArrayList<>(view.size());
+        for (int i = 0; i < view.size(); i++) {
+            dtos.add(convertToDto(snapshot.row(view.rowId(i))));
+        }
+        return dtos;
+    }
+
     /**
      * Converts ExamDto to Exam entity.
      * 
@@ -414,6 +1019,21 @@ public class ExamService {
                 exam.getRoom());
     }
 
+    /**
+     * Converts a snapshot row to ExamSummaryDto.
+     * 
+     * @param row The snapshot row
+     * @return ExamSummaryDto
+     */
+    private ExamSummaryDto convertToSummaryDto(ExamSnapshot.Row row) {
+        return new ExamSummaryDto(
+                row.getId(),
+                row.getSubject(),
+                row.getDegree(),
+                row.getDate(),
+                row.getRoom());
+    }
+
     /**
      * Converts ExamProjection to ExamSummaryDto for optimized queries.
      * 
@@ -0,0 +1,1191 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, column-oriented in-memory copy of the ETSINF table.
+ *
+ * Built once per refresh by {@link ExamSnapshotService} and never modified
+ * afterwards, so request threads can read it without locking. Rows are
+ * stored in (date, id) order, the same order the repository queries use,
+ * with id as a tiebreaker so pagination is stable across pages.
+ *
+ * Each column is a primitive array indexed by row position. Low-cardinality
+ * columns (degree, year, semester, school, room) are dictionary-encoded as
+ * int codes, and dates are epoch seconds (UTC), so filters compare ints and
+ * longs instead of Strings and LocalDateTimes. Queries return row positions;
+ * {@link Row} views and DTOs are only created for the rows actually
+ * returned, typically a single page.
+ *
+ * A committed write does not rebuild the snapshot. {@link #apply} returns a
+ * new snapshot that shares this one's columns and indexes as its base,
+ * masks the base rows the write replaces or deletes, and keeps every row
+ * written since the base was built in a small snapshot of its own. Queries
+ * run against both and merge in (date, id) order; positions below the base
+ * size are base rows and the rest are written rows. {@link #compact} folds
+ * the written rows back into a single snapshot once they add up.
+ */
+public final class ExamSnapshot {
+
+    /**
+     * Stored in the date column for exams without a date; sorts last.
+     */
+    static final long NO_DATE = Long.MAX_VALUE;
+    static final int NO_DURATION = Integer.MIN_VALUE;
+
+    private final int size;
+    private final long[] ids;
+    private final long[] dates;
+    private final String[] subjects;
+    // Folded and stemmed search keys, computed once at load
+    private final String[] subjectKeys;
+    private final String[] subjectStems;
+    private final String[] acronyms;
+    private final String[] acronymKeys;
+    private final String[] codes;
+    private final String[] examInstanceIds;
+    private final String[] examTimes;
+    private final int[] durations;
+    private final String[] durationDays;
+    private final String[] comments;
+
+    final StringDictionary degreeDictionary;
+    final StringDictionary yearDictionary;
+    final StringDictionary semesterDictionary;
+    final StringDictionary schoolDictionary;
+    final StringDictionary roomDictionary;
+    final int[] degreeCodes;
+    final int[] yearCodes;
+    final int[] semesterCodes;
+    final int[] schoolCodes;
+    final int[] roomCodes;
+
+    // Primary key lookup: ids sorted ascending, with the row position of each
+    private final long[] sortedIds;
+    private final int[] sortedIdPositions;
+    // Row positions per degree code, each in date order
+    private final int[][] positionsByDegree;
+
+    // Indexes over this snapshot's own columns; use the query methods, which also cover written rows
+    @Getter(AccessLevel.PACKAGE)
+    private final ExamDateIndex dateIndex;
+    @Getter(AccessLevel.PACKAGE)
+    private final ExamIntervalIndex intervals;
+    @Getter(AccessLevel.PACKAGE)
+    private final ExamRoomIndex roomTimelines;
+    private final ExamTrigramIndex trigrams;
+    private final ExamFuzzyIndex fuzzy;
+    @Getter(AccessLevel.PACKAGE)
+    private final ExamAutocompleteIndex autocomplete;
+    @Getter(AccessLevel.PACKAGE)
+    private final ExamFacetIndex facets;
+    @Getter
+    private final Instant loadedAt;
+
+    // Set once writes are applied: the shared base snapshot, its rows replaced
+    // or deleted since, and the rows written since. The columns above are then
+    // empty, and every query goes to base and recent
+    private final ExamSnapshot base;
+    private final BitSet removed;
+    private final ExamSnapshot recent;
+
+    private ExamSnapshot(List<Exam> exams, Instant loadedAt) {
+        this(exams, loadedAt, null, null, null);
+    }
+
+    private ExamSnapshot(List<Exam> exams, Instant loadedAt, ExamSnapshot base, BitSet removed,
+            ExamSnapshot recent) {
+        List<Exam> sorted = new ArrayList<>(exams);
+        sorted.sort(Comparator
+                .comparing(Exam::getDate, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparing(Exam::getId, Comparator.nullsLast(Comparator.<Long>naturalOrder())));
+
+        this.size = sorted.size();
+        this.ids = new long[size];
+        this.dates = new long[size];
+        this.subjects = new String[size];
+        this.subjectKeys = new String[size];
+        this.subjectStems = new String[size];
+        this.acronyms = new String[size];
+        this.acronymKeys = new String[size];
+        this.codes = new String[size];
+        this.examInstanceIds = new String[size];
+        this.examTimes = new String[size];
+        this.durations = new int[size];
+        this.durationDays = new String[size];
+        this.comments = new String[size];
+
+        this.degreeDictionary = StringDictionary.of(() -> sorted.stream().map(Exam::getDegree).iterator());
+        this.yearDictionary = StringDictionary.of(() -> sorted.stream().map(Exam::getYear).iterator());
+        this.semesterDictionary = StringDictionary.of(() -> sorted.stream().map(Exam::getSemester).iterator());
+        this.schoolDictionary = StringDictionary.of(() -> sorted.stream().map(Exam::getSchool).iterator());
+        this.roomDictionary = StringDictionary.of(() -> sorted.stream().map(Exam::getRoom).iterator());
+        this.degreeCodes = new int[size];
+        this.yearCodes = new int[size];
+        this.semesterCodes = new int[size];
+        this.schoolCodes = new int[size];
+        this.roomCodes = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            Exam exam = sorted.get(i);
+            ids[i] = exam.getId() != null ? exam.getId() : 0L;
+            dates[i] = encodeDate(exam.getDate());
+            subjects[i] = exam.getSubject();
+            subjectKeys[i] = exam.getSubject() != null ? SearchKeys.fold(exam.getSubject()) : null;
+            subjectStems[i] = exam.getSubject() != null ? SearchKeys.stem(exam.getSubject()) : null;
+            acronyms[i] = exam.getAcronym();
+            acronymKeys[i] = exam.getAcronym() != null ? SearchKeys.fold(exam.getAcronym()) : null;
+            codes[i] = exam.getCode();
+            examInstanceIds[i] = exam.getExamInstanceId();
+            examTimes[i] = exam.getExamTime();
+            durations[i] = exam.getDurationMinutes() != null ? exam.getDurationMinutes() : NO_DURATION;
+            durationDays[i] = exam.getDurationDay();
+            comments[i] = exam.getComment();
+            degreeCodes[i] = degreeDictionary.code(exam.getDegree());
+            yearCodes[i] = yearDictionary.code(exam.getYear());
+            semesterCodes[i] = semesterDictionary.code(exam.getSemester());
+            schoolCodes[i] = schoolDictionary.code(exam.getSchool());
+            roomCodes[i] = roomDictionary.code(exam.getRoom());
+        }
+
+        this.sortedIdPositions = idOrder(ids);
+        this.sortedIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = ids[sortedIdPositions[i]];
+        }
+        this.positionsByDegree = groupByCode(degreeCodes, degreeDictionary.size());
+        this.dateIndex = new ExamDateIndex(dates);
+        this.intervals = new ExamIntervalIndex(dates, examTimes, durations, durationDays);
+        this.roomTimelines = new ExamRoomIndex(roomDictionary, roomCodes, intervals);
+        this.trigrams = trigramIndex(subjectKeys, subjectStems, acronymKeys, degreeDictionary, degreeCodes);
+        this.fuzzy = new ExamFuzzyIndex(subjectKeys, degreeDictionary, degreeCodes, dates);
+        this.autocomplete = new ExamAutocompleteIndex(subjects, acronyms, codes, dates);
+        this.facets = new ExamFacetIndex(this);
+        this.loadedAt = loadedAt;
+        this.base = base;
+        this.removed = removed;
+        this.recent = recent;
+    }
+
+    /**
+     * Builds a snapshot from entities. The entities are copied, not retained.
+     *
+     * @param exams All exams
+     * @return The snapshot
+     */
+    public static ExamSnapshot of(List<Exam> exams) {
+        return new ExamSnapshot(exams, Instant.now());
+    }
+
+    /**
+     * Builds a snapshot of data loaded at an earlier time, such as a snapshot file.
+     */
+    static ExamSnapshot of(List<Exam> exams, Instant loadedAt) {
+        return new ExamSnapshot(exams, loadedAt);
+    }
+
+    /**
+     * Snapshot with one committed write applied. This snapshot's base columns
+     * and indexes are shared, not copied: the write costs a copy of the
+     * removed-row bitmap and re-indexing the m rows written since the base
+     * was built, O(m log m), however large the table is.
+     *
+     * @param delta The write
+     * @return The new snapshot; this one is unchanged
+     */
+    ExamSnapshot apply(ExamDelta delta) {
+        ExamSnapshot shared = recent != null ? base : this;
+        BitSet masked = recent != null ? (BitSet) removed.clone() : new BitSet(size);
+        Row original = shared.findById(delta.getId());
+        if (original != null) {
+            masked.set(original.getPosition());
+        }
+        List<Exam> written = new ArrayList<>();
+        if (recent != null) {
+            for (int i = 0; i < recent.size; i++) {
+                if (delta.getId() == null || recent.ids[i] != delta.getId()) {
+                    written.add(recent.row(i).toExam());
+                }
+            }
+        }
+        if (delta.getKind() == ExamDelta.Kind.UPSERT) {
+            written.add(delta.getExam());
+        }
+        return new ExamSnapshot(List.of(), shared.loadedAt, shared, masked, new ExamSnapshot(written, Instant.now()));
+    }
+
+    /**
+     * Rows written since the base was built plus base rows they replaced or
+     * deleted; 0 for a snapshot built in one go.
+     */
+    int pendingRows() {
+        return recent != null ? recent.size + removed.cardinality() : 0;
+    }
+
+    /**
+     * Single snapshot with the same rows and no pending writes, built from
+     * the rows in memory rather than from the database.
+     */
+    ExamSnapshot compact() {
+        if (recent == null) {
+            return this;
+        }
+        List<Exam> exams = new ArrayList<>(size());
+        for (int position : findAll()) {
+            exams.add(row(position).toExam());
+        }
+        return new ExamSnapshot(exams, loadedAt);
+    }
+
+    /**
+     * Number of exams in the snapshot.
+     */
+    public int size() {
+        return recent != null ? base.size - removed.cardinality() + recent.size : size;
+    }
+
+    /**
+     * Distinct degrees, ascending.
+     */
+    public List<String> getDegrees() {
+        return recent != null ? liveValues(ExamFacetIndex.Facet.DEGREE) : degreeDictionary.values();
+    }
+
+    /**
+     * Distinct years, descending.
+     */
+    public List<String> getYears() {
+        List<String> years = new ArrayList<>(recent != null
+                ? liveValues(ExamFacetIndex.Facet.YEAR)
+                : yearDictionary.values());
+        Collections.reverse(years);
+        return Collections.unmodifiableList(years);
+    }
+
+    /**
+     * Distinct semesters, ascending.
+     */
+    public List<String> getSemesters() {
+        return recent != null ? liveValues(ExamFacetIndex.Facet.SEMESTER) : semesterDictionary.values();
+    }
+
+    /**
+     * Row view at a position.
+     */
+    public Row row(int position) {
+        if (recent == null) {
+            return new Row(this, position, position);
+        }
+        return position < base.size
+                ? new Row(base, position, position)
+                : new Row(recent, position - base.size, position);
+    }
+
+    /**
+     * Row views for positions, in the given order.
+     */
+    public List<Row> rows(int[] positions) {
+        List<Row> rows = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            rows.add(row(position));
+        }
+        return rows;
+    }
+
+    /**
+     * Every row position, in (date, id) order.
+     */
+    public int[] findAll() {
+        if (recent != null) {
+            return merge(base.findAll(), recent.findAll());
+        }
+        int[] all = new int[size];
+        for (int i = 0; i < size; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    /**
+     * Looks up an exam by ID.
+     *
+     * @param id The exam ID
+     * @return The row, or null if absent
+     */
+    public Row findById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        if (recent != null) {
+            Row written = recent.findById(id);
+            if (written != null) {
+                return row(base.size + written.getPosition());
+            }
+            Row original = base.findById(id);
+            return original != null && !removed.get(original.getPosition()) ? original : null;
+        }
+        int index = Arrays.binarySearch(sortedIds, id);
+        return index >= 0 ? row(sortedIdPositions[index]) : null;
+    }
+
+    /**
+     * Exams for a degree in (date, id) order.
+     */
+    public int[] findByDegree(String degree) {
+        if (recent != null) {
+            return merge(base.findByDegree(degree), recent.findByDegree(degree));
+        }
+        int code = degreeDictionary.code(degree);
+        return code == StringDictionary.NULL_CODE ? new int[0] : positionsByDegree[code].clone();
+    }
+
+    /**
+     * Exams whose subject contains the term, ignoring case and accents, or
+     * whose stemmed subject has the stemmed term at a word start.
+     */
+    public int[] findBySubjectContaining(String subject) {
+        if (recent != null) {
+            return merge(base.findBySubjectContaining(subject), recent.findBySubjectContaining(subject));
+        }
+        return ExamTrigramIndex.union(
+                trigrams.containing(SearchKeys.fold(subject), ExamTrigramIndex.Field.SUBJECT),
+                trigrams.startingWord(SearchKeys.stem(subject), ExamTrigramIndex.Field.SUBJECT_STEM));
+    }
+
+    /**
+     * Exams whose subject or acronym equals one of the given values, ignoring
+     * case and accents. Only the given values are folded; rows compare their
+     * stored keys.
+     */
+    public int[] findBySubjectsOrAcronyms(Collection<String> subjectNames, Collection<String> acronymNames) {
+        if (recent != null) {
+            return merge(base.findBySubjectsOrAcronyms(subjectNames, acronymNames),
+                    recent.findBySubjectsOrAcronyms(subjectNames, acronymNames));
+        }
+        Set<String> subjectKeys = foldedSet(subjectNames);
+        Set<String> acronymKeys = foldedSet(acronymNames);
+        if (subjectKeys.isEmpty() && acronymKeys.isEmpty()) {
+            return new int[0];
+        }
+        return filter(i -> (this.subjectKeys[i] != null && subjectKeys.contains(this.subjectKeys[i]))
+                || (this.acronymKeys[i] != null && acronymKeys.contains(this.acronymKeys[i])));
+    }
+
+    /**
+     * Exams for a year and semester.
+     */
+    public int[] findByYearAndSemester(String year, String semester) {
+        if (recent != null) {
+            return merge(base.findByYearAndSemester(year, semester), recent.findByYearAndSemester(year, semester));
+        }
+        int yearCode = yearDictionary.code(year);
+        int semesterCode = semesterDictionary.code(semester);
+        if ((year != null && yearCode == StringDictionary.NULL_CODE)
+                || (semester != null && semesterCode == StringDictionary.NULL_CODE)) {
+            return new int[0];
+        }
+        return filter(i -> yearCodes[i] == yearCode && semesterCodes[i] == semesterCode);
+    }
+
+    /**
+     * Exams matching every non-null criterion.
+     */
+    public int[] findByCriteria(String degree, String year, String semester) {
+        if (recent != null) {
+            return merge(base.findByCriteria(degree, year, semester), recent.findByCriteria(degree, year, semester));
+        }
+        int yearCode = yearDictionary.code(year);
+        int semesterCode = semesterDictionary.code(semester);
+        if ((year != null && yearCode == StringDictionary.NULL_CODE)
+                || (semester != null && semesterCode == StringDictionary.NULL_CODE)) {
+            return new int[0];
+        }
+        int[] source = degree != null ? findByDegree(degree) : findAll();
+        int[] result = new int[source.length];
+        int count = 0;
+        for (int i : source) {
+            if ((year == null || yearCodes[i] == yearCode) && (semester == null || semesterCodes[i] == semesterCode)) {
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Exams whose subject or degree words are within a few typos of every
+     * query word, closest first and then upcoming first.
+     *
+     * @param searchTerm Query as typed
+     * @param now        Current instant in epoch seconds
+     */
+    public int[] fuzzySearch(String searchTerm, long now) {
+        if (recent != null) {
+            int[] baseDistances = base.fuzzy.distances(searchTerm);
+            int[] recentDistances = recent.fuzzy.distances(searchTerm);
+            if (baseDistances == null) {
+                return new int[0];
+            }
+            int offset = base.size;
+            return ExamFuzzyIndex.rank(offset + recent.size,
+                    position -> position >= offset
+                            ? recentDistances[position - offset]
+                            : removed.get(position) ? Integer.MAX_VALUE : baseDistances[position],
+                    this::dateAt, this::compareRows, now);
+        }
+        return fuzzy.search(searchTerm, now);
+    }
+
+    /**
+     * Exams where every whitespace-separated term appears in the subject, the
+     * acronym or the degree, ignoring case and accents. A stemmed term also
+     * matches a subject or degree word whose stem it equals or prefixes, so
+     * singular and plural forms meet without short stems matching inside
+     * unrelated words.
+     */
+    public int[] search(String searchTerm) {
+        if (recent != null) {
+            return merge(base.search(searchTerm), recent.search(searchTerm));
+        }
+        String[] terms = SearchKeys.fold(searchTerm).split(" ");
+        int[] result = null;
+        for (String term : terms) {
+            int[] matches = ExamTrigramIndex.union(
+                    trigrams.containing(term, ExamTrigramIndex.Field.SUBJECT,
+                            ExamTrigramIndex.Field.ACRONYM, ExamTrigramIndex.Field.DEGREE),
+                    trigrams.startingWord(SearchKeys.stemWord(term), ExamTrigramIndex.Field.SUBJECT_STEM,
+                            ExamTrigramIndex.Field.DEGREE_STEM));
+            result = result == null ? matches : ExamTrigramIndex.intersect(result, matches);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Exams dated between start and end, both inclusive, by binary search.
+     */
+    public ExamDateIndex.RowView findByDateBetween(LocalDateTime start, LocalDateTime end) {
+        if (recent != null) {
+            return ExamDateIndex.RowView.of(merge(base.findByDateBetween(start, end).toArray(),
+                    recent.findByDateBetween(start, end).toArray()));
+        }
+        return dateIndex.between(encodeDate(start), encodeDate(end));
+    }
+
+    /**
+     * Exams dated at or after the given instant, by binary search.
+     */
+    public ExamDateIndex.RowView findFrom(LocalDateTime from) {
+        if (recent != null) {
+            return ExamDateIndex.RowView.of(merge(base.findFrom(from).toArray(), recent.findFrom(from).toArray()));
+        }
+        return dateIndex.from(encodeDate(from));
+    }
+
+    /**
+     * The next {@code limit} exams dated at or after the given instant.
+     */
+    public ExamDateIndex.RowView findNext(LocalDateTime from, int limit) {
+        if (recent != null) {
+            int[] next = merge(liveFirst(base.findFrom(from), limit), recent.findNext(from, limit).toArray());
+            return ExamDateIndex.RowView.of(Arrays.copyOf(next, Math.min(next.length, Math.max(0, limit))));
+        }
+        return dateIndex.next(encodeDate(from), limit);
+    }
+
+    /**
+     * Pages row positions that are already in the requested order.
+     * Row views are only created for the returned page.
+     *
+     * @param positions Row positions in order
+     * @param pageable  Page request
+     * @return The page, with the total count of positions
+     */
+    public Page<Row> page(int[] positions, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows(positions), pageable, positions.length);
+        }
+        int from = (int) Math.min(pageable.getOffset(), positions.length);
+        int to = Math.min(from + pageable.getPageSize(), positions.length);
+        return new PageImpl<>(rows(Arrays.copyOfRange(positions, from, to)), pageable, positions.length);
+    }
+
+    /**
+     * Keyset read over rows in (date, id) order, such as the result of a
+     * find or search method. The boundary is found by binary search, so the
+     * cost does not grow with how deep the cursor is.
+     *
+     * @param positions Row positions, ascending
+     * @param cursor    Boundary and direction, or null for the first rows
+     * @param count     Maximum number of rows
+     * @return Row positions in scan order: ascending after the cursor,
+     *         descending before it
+     */
+    public int[] seek(int[] positions, ExamCursor cursor, int count) {
+        if (cursor == null || cursor.isAfter()) {
+            int from = cursor == null ? 0 : firstAfter(positions, cursor, false);
+            return Arrays.copyOfRange(positions, from, (int) Math.min(positions.length, (long) from + count));
+        }
+        int to = firstAfter(positions, cursor, true);
+        int from = Math.max(0, to - count);
+        int[] scanned = new int[to - from];
+        for (int i = 0; i < scanned.length; i++) {
+            scanned[i] = positions[to - 1 - i];
+        }
+        return scanned;
+    }
+
+    // First index whose row sorts after the cursor row, or at or after it when inclusive
+    private int firstAfter(int[] positions, ExamCursor cursor, boolean inclusive) {
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int order = cursor.compareRow(dateAt(positions[mid]), idAt(positions[mid]));
+            if (order < 0 || (order == 0 && !inclusive)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Pages a date index view. Only the returned page is materialised.
+     *
+     * @param view     Rows in start order
+     * @param pageable Page request
+     * @return The page, with the total count of rows in the view
+     */
+    public Page<Row> page(ExamDateIndex.RowView view, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows(view.toArray()), pageable, view.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), view.size());
+        return new PageImpl<>(rows(view.slice(from, pageable.getPageSize()).toArray()), pageable, view.size());
+    }
+
+    /**
+     * Pages all rows in the page request's sort order.
+     *
+     * @param pageable Page request, possibly sorted
+     * @return The page, or null if the sort uses a property the snapshot cannot order by
+     */
+    public Page<Row> pageAll(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted() || isDefaultOrder(sort)) {
+            return page(findAll(), pageable);
+        }
+        Comparator<Integer> comparator = comparator(sort);
+        if (comparator == null) {
+            return null;
+        }
+        int[] positions = findAll();
+        Integer[] boxed = new Integer[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            boxed[i] = positions[i];
+        }
+        Arrays.sort(boxed, comparator);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = boxed[i];
+        }
+        return page(positions, pageable);
+    }
+
+    /**
+     * Pages the rows matching a facet selection in (date, id) order.
+     *
+     * @see ExamFacetIndex#page
+     */
+    public Page<Row> facetPage(Map<ExamFacetIndex.Facet, String> selection, Pageable pageable) {
+        if (recent == null) {
+            return facets.page(selection, pageable);
+        }
+        return page(merge(base.facets.select(selection).stream().toArray(),
+                recent.facets.select(selection).stream().toArray()), pageable);
+    }
+
+    /**
+     * Counts matches per value of every facet, each against the selection on
+     * the other facets.
+     *
+     * @see ExamFacetIndex#counts
+     */
+    public Map<ExamFacetIndex.Facet, Map<String, Integer>> facetCounts(Map<ExamFacetIndex.Facet, String> selection) {
+        if (recent == null) {
+            return facets.counts(selection);
+        }
+        Map<ExamFacetIndex.Facet, Map<String, Integer>> counts = new EnumMap<>(ExamFacetIndex.Facet.class);
+        for (ExamFacetIndex.Facet facet : ExamFacetIndex.Facet.values()) {
+            Map<String, Integer> valueCounts = new TreeMap<>(base.facets.counts(facet, selection, removed));
+            recent.facets.counts(facet, selection, null)
+                    .forEach((value, count) -> valueCounts.merge(value, count, Integer::sum));
+            counts.put(facet, valueCounts);
+        }
+        return counts;
+    }
+
+    /**
+     * Start of a row's time span in epoch seconds, {@link #NO_DATE} for undated rows.
+     *
+     * @see ExamIntervalIndex#start
+     */
+    public long intervalStart(int position) {
+        if (recent == null) {
+            return intervals.start(position);
+        }
+        return position < base.size
+                ? base.intervals.start(position)
+                : recent.intervals.start(position - base.size);
+    }
+
+    /**
+     * Exclusive end of a row's time span in epoch seconds, {@link #NO_DATE} for undated rows.
+     *
+     * @see ExamIntervalIndex#end
+     */
+    public long intervalEnd(int position) {
+        if (recent == null) {
+            return intervals.end(position);
+        }
+        return position < base.size
+                ? base.intervals.end(position)
+                : recent.intervals.end(position - base.size);
+    }
+
+    /**
+     * Overlapping pairs among the given rows only, in start order.
+     *
+     * @see ExamIntervalIndex#overlappingPairs(int[])
+     */
+    public List<int[]> overlappingPairs(int[] positions) {
+        if (recent == null) {
+            return intervals.overlappingPairs(positions);
+        }
+        return ExamIntervalIndex.overlappingPairs(positions, this::intervalStart, this::intervalEnd,
+                this::compareRows);
+    }
+
+    /**
+     * Exams in a room whose span overlaps [start, end), in start order.
+     *
+     * @see ExamRoomIndex#occupancy
+     */
+    public int[] occupancy(String room, long start, long end) {
+        if (recent == null) {
+            return roomTimelines.occupancy(room, start, end);
+        }
+        ExamRoomIndex.Timeline timeline = liveTimeline(room, removedRooms());
+        return timeline != null ? timeline.occupancy(start, end) : new int[0];
+    }
+
+    /**
+     * Rooms with no exam overlapping [start, end), ascending.
+     *
+     * @see ExamRoomIndex#freeRooms
+     */
+    public List<String> freeRooms(long start, long end) {
+        if (recent == null) {
+            return roomTimelines.freeRooms(start, end);
+        }
+        Set<String> removedRooms = removedRooms();
+        List<String> free = new ArrayList<>();
+        for (String room : allRooms()) {
+            ExamRoomIndex.Timeline timeline = liveTimeline(room, removedRooms);
+            if (timeline != null && timeline.isBusy(start, end)) {
+                continue;
+            }
+            // A room whose last exams were deleted or moved no longer appears
+            if (removedRooms.contains(room) && !hasLiveRow(room)) {
+                continue;
+            }
+            free.add(room);
+        }
+        return free;
+    }
+
+    /**
+     * Pairs of exams whose spans overlap in the same room, optionally only
+     * those overlapping [start, end), grouped by room in room order.
+     *
+     * @see ExamRoomIndex#doubleBookings
+     */
+    public List<int[]> doubleBookings(long start, long end) {
+        if (recent == null) {
+            return roomTimelines.doubleBookings(start, end);
+        }
+        Set<String> removedRooms = removedRooms();
+        List<int[]> pairs = new ArrayList<>();
+        for (String room : allRooms()) {
+            ExamRoomIndex.Timeline timeline = liveTimeline(room, removedRooms);
+            if (timeline != null) {
+                timeline.doubleBookings(start, end, pairs);
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Type-ahead suggestions whose subject, subject word, acronym or code
+     * starts with the prefix.
+     *
+     * @param prefix Folded prefix
+     * @param now    Current instant in epoch seconds, for upcoming ranking
+     * @param limit  Maximum number of suggestions
+     * @return Suggestions, best first
+     * @see ExamAutocompleteIndex#complete
+     */
+    public List<ExamAutocompleteIndex.Suggestion> suggest(String prefix, long now, int limit) {
+        if (recent == null) {
+            List<ExamAutocompleteIndex.Suggestion> suggestions = new ArrayList<>();
+            for (int suggestion : autocomplete.complete(prefix, now, limit)) {
+                suggestions.add(autocomplete.suggestion(suggestion, now));
+            }
+            return suggestions;
+        }
+
+        // Removed base rows per folded subject; positions ascend in date order, so their dates do too
+        Map<String, List<Long>> removedDates = new HashMap<>();
+        Map<String, Integer> removedRows = new HashMap<>();
+        for (int position = removed.nextSetBit(0); position >= 0; position = removed.nextSetBit(position + 1)) {
+            String subject = base.subjects[position];
+            if (subject == null || subject.isBlank()) {
+                continue;
+            }
+            String key = base.subjectKeys[position];
+            removedRows.merge(key, 1, Integer::sum);
+            List<Long> subjectDates = removedDates.computeIfAbsent(key, k -> new ArrayList<>());
+            if (base.dates[position] != NO_DATE) {
+                subjectDates.add(base.dates[position]);
+            }
+        }
+
+        Map<String, ExamAutocompleteIndex.Suggestion> bySubject = new HashMap<>();
+        for (int suggestion : base.autocomplete.complete(prefix, now, Integer.MAX_VALUE)) {
+            String key = SearchKeys.fold(base.autocomplete.subject(suggestion));
+            ExamAutocompleteIndex.Suggestion live = removedRows.containsKey(key)
+                    ? base.autocomplete.suggestion(suggestion, now, removedDates.get(key), removedRows.get(key))
+                    : base.autocomplete.suggestion(suggestion, now);
+            if (live != null) {
+                bySubject.put(key, live);
+            }
+        }
+        for (int suggestion : recent.autocomplete.complete(prefix, now, Integer.MAX_VALUE)) {
+            bySubject.merge(SearchKeys.fold(recent.autocomplete.subject(suggestion)),
+                    recent.autocomplete.suggestion(suggestion, now), ExamAutocompleteIndex.Suggestion::plus);
+        }
+        return bySubject.values().stream()
+                .sorted(ExamAutocompleteIndex.Suggestion.RANKING)
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    private static boolean isDefaultOrder(Sort sort) {
+        Sort.Order only = sort.iterator().next();
+        return sort.stream().count() == 1 && "date".equals(only.getProperty()) && only.isAscending();
+    }
+
+    /**
+     * Position comparator for a Sort. Nulls sort last ascending and first
+     * descending; id breaks ties.
+     */
+    private Comparator<Integer> comparator(Sort sort) {
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> next = columnComparator(order.getProperty());
+            if (next == null) {
+                return null;
+            }
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator.thenComparingLong(this::idAt);
+    }
+
+    private Comparator<Integer> columnComparator(String property) {
+        switch (property) {
+            case "id":
+                return Comparator.comparingLong(this::idAt);
+            case "date":
+                return Comparator.comparingLong(this::dateAt);
+            case "subject":
+                return recent != null
+                        ? valueComparator(Row::getSubject)
+                        : Comparator.comparing(position -> subjects[position],
+                                Comparator.nullsLast(Comparator.<String>naturalOrder()));
+            case "degree":
+                return recent != null ? valueComparator(Row::getDegree) : codeComparator(degreeCodes);
+            case "year":
+                return recent != null ? valueComparator(Row::getYear) : codeComparator(yearCodes);
+            case "semester":
+                return recent != null ? valueComparator(Row::getSemester) : codeComparator(semesterCodes);
+            case "room":
+                return recent != null ? valueComparator(Row::getRoom) : codeComparator(roomCodes);
+            case "school":
+                return recent != null ? valueComparator(Row::getSchool) : codeComparator(schoolCodes);
+            default:
+                return null;
+        }
+    }
+
+    // Base and written rows have separate dictionaries, so their codes do not compare
+    private Comparator<Integer> valueComparator(Function<Row, String> column) {
+        return Comparator.comparing(position -> column.apply(row(position)),
+                Comparator.nullsLast(Comparator.<String>naturalOrder()));
+    }
+
+    // Codes are assigned in sorted value order, so comparing codes compares values
+    private static Comparator<Integer> codeComparator(int[] column) {
+        return Comparator.comparingInt(position -> column[position] == StringDictionary.NULL_CODE
+                ? Integer.MAX_VALUE
+                : column[position]);
+    }
+
+    private static ExamTrigramIndex trigramIndex(String[] subjectKeys, String[] subjectStems, String[] acronymKeys,
+            StringDictionary degreeDictionary, int[] degreeCodes) {
+        String[] degreeKeys = new String[degreeCodes.length];
+        String[] degreeStems = new String[degreeCodes.length];
+        for (int i = 0; i < degreeCodes.length; i++) {
+            // Shares the dictionary's keys, folded once per distinct degree
+            degreeKeys[i] = degreeDictionary.searchKey(degreeCodes[i]);
+            degreeStems[i] = degreeDictionary.searchStem(degreeCodes[i]);
+        }
+        Map<ExamTrigramIndex.Field, String[]> columns = new EnumMap<>(ExamTrigramIndex.Field.class);
+        columns.put(ExamTrigramIndex.Field.SUBJECT, subjectKeys);
+        columns.put(ExamTrigramIndex.Field.ACRONYM, acronymKeys);
+        columns.put(ExamTrigramIndex.Field.DEGREE, degreeKeys);
+        columns.put(ExamTrigramIndex.Field.SUBJECT_STEM, subjectStems);
+        columns.put(ExamTrigramIndex.Field.DEGREE_STEM, degreeStems);
+        return new ExamTrigramIndex(columns);
+    }
+
+    private static int[] idOrder(long[] ids) {
+        Integer[] byId = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            byId[i] = i;
+        }
+        Arrays.sort(byId, Comparator.comparingLong(position -> ids[position]));
+        int[] order = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            order[i] = byId[i];
+        }
+        return order;
+    }
+
+    private static int[][] groupByCode(int[] codes, int dictionarySize) {
+        int[] counts = new int[dictionarySize];
+        for (int code : codes) {
+            if (code != StringDictionary.NULL_CODE) {
+                counts[code]++;
+            }
+        }
+        int[][] groups = new int[dictionarySize][];
+        for (int code = 0; code < dictionarySize; code++) {
+            groups[code] = new int[counts[code]];
+        }
+        int[] filled = new int[dictionarySize];
+        for (int i = 0; i < codes.length; i++) {
+            int code = codes[i];
+            if (code != StringDictionary.NULL_CODE) {
+                groups[code][filled[code]++] = i;
+            }
+        }
+        return groups;
+    }
+
+    private int[] filter(IntPredicate predicate) {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(i)) {
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private long dateAt(int position) {
+        if (recent == null) {
+            return dates[position];
+        }
+        return position < base.size ? base.dates[position] : recent.dates[position - base.size];
+    }
+
+    private long idAt(int position) {
+        if (recent == null) {
+            return ids[position];
+        }
+        return position < base.size ? base.ids[position] : recent.ids[position - base.size];
+    }
+
+    // (date, id) order across base and written rows; within one snapshot it is position order
+    private int compareRows(int a, int b) {
+        long dateA = dateAt(a);
+        long dateB = dateAt(b);
+        return dateA != dateB ? Long.compare(dateA, dateB) : Long.compare(idAt(a), idAt(b));
+    }
+
+    /**
+     * Merges a base query result with the same query on the written rows.
+     * Both are ascending in (date, id) order; removed base rows are dropped
+     * and written rows are shifted past the base.
+     */
+    private int[] merge(int[] basePositions, int[] recentPositions) {
+        int offset = base.size;
+        int[] result = new int[basePositions.length + recentPositions.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < basePositions.length || j < recentPositions.length) {
+            if (i < basePositions.length && removed.get(basePositions[i])) {
+                i++;
+            } else if (j == recentPositions.length
+                    || (i < basePositions.length && compareRows(basePositions[i], recentPositions[j] + offset) < 0)) {
+                result[count++] = basePositions[i++];
+            } else {
+                result[count++] = recentPositions[j++] + offset;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Up to limit base rows of a view that were not removed, in view order
+    private int[] liveFirst(ExamDateIndex.RowView view, int limit) {
+        int[] live = new int[Math.min(view.size(), Math.max(0, limit))];
+        int count = 0;
+        for (int i = 0; i < view.size() && count < live.length; i++) {
+            if (!removed.get(view.rowId(i))) {
+                live[count++] = view.rowId(i);
+            }
+        }
+        return Arrays.copyOf(live, count);
+    }
+
+    // Facet values some live row still has, ascending
+    private List<String> liveValues(ExamFacetIndex.Facet facet) {
+        TreeSet<String> values = new TreeSet<>(base.facets.counts(facet, Map.of(), removed).keySet());
+        values.addAll(recent.facets.counts(facet, Map.of(), null).keySet());
+        return List.copyOf(values);
+    }
+
+    // Rooms known to the base or the written rows, ascending
+    private Set<String> allRooms() {
+        TreeSet<String> rooms = new TreeSet<>(base.roomTimelines.allRooms());
+        rooms.addAll(recent.roomTimelines.allRooms());
+        return rooms;
+    }
+
+    // Rooms of removed base rows
+    private Set<String> removedRooms() {
+        Set<String> rooms = new HashSet<>();
+        for (int position = removed.nextSetBit(0); position >= 0; position = removed.nextSetBit(position + 1)) {
+            String room = base.roomDictionary.value(base.roomCodes[position]);
+            if (room != null) {
+                rooms.add(room);
+            }
+        }
+        return rooms;
+    }
+
+    // Whether any live row, dated or not, is in the room; scans the base only for rooms writes emptied
+    private boolean hasLiveRow(String room) {
+        if (recent.roomDictionary.code(room) != StringDictionary.NULL_CODE) {
+            return true;
+        }
+        int code = base.roomDictionary.code(room);
+        for (int position = 0; position < base.size; position++) {
+            if (base.roomCodes[position] == code && !removed.get(position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A room's timeline over live rows: the base's own when no write touched
+    // the room, otherwise rebuilt from its live base rows and written rows
+    private ExamRoomIndex.Timeline liveTimeline(String room, Set<String> removedRooms) {
+        ExamRoomIndex.Timeline original = base.roomTimelines.timeline(room);
+        ExamRoomIndex.Timeline written = recent.roomTimelines.timeline(room);
+        if (written == null && !removedRooms.contains(room)) {
+            return original;
+        }
+        int offset = base.size;
+        IntStream rows = original != null
+                ? Arrays.stream(original.rows()).filter(position -> !removed.get(position))
+                : IntStream.empty();
+        if (written != null) {
+            rows = IntStream.concat(rows, Arrays.stream(written.rows()).map(position -> position + offset));
+        }
+        return new ExamRoomIndex.Timeline(rows.toArray(), this::intervalStart, this::intervalEnd, this::compareRows);
+    }
+
+    static long encodeDate(LocalDateTime date) {
+        return date != null ? date.toEpochSecond(ZoneOffset.UTC) : NO_DATE;
+    }
+
+    static LocalDateTime decodeDate(long epochSecond) {
+        return epochSecond != NO_DATE ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+
+    private static Set<String> foldedSet(Collection<String> values) {
+        Set<String> keys = new HashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    keys.add(SearchKeys.fold(value));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Read-only view of one row. Values are decoded from the columns on access.
+     */
+    public static final class Row {
+        // Snapshot holding the columns and the row's index there; position is
+        // where the snapshot that returned the row has it
+        private final ExamSnapshot snapshot;
+        private final int index;
+        private final int position;
+
+        private Row(ExamSnapshot snapshot, int index, int position) {
+            this.snapshot = snapshot;
+            this.index = index;
+            this.position = position;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        public Long getId() {
+            return snapshot.ids[index];
+        }
+
+        public String getSubject() {
+            return snapshot.subjects[index];
+        }
+
+        public String getDegree() {
+            return snapshot.degreeDictionary.value(snapshot.degreeCodes[index]);
+        }
+
+        public String getYear() {
+            return snapshot.yearDictionary.value(snapshot.yearCodes[index]);
+        }
+
+        public String getSemester() {
+            return snapshot.semesterDictionary.value(snapshot.semesterCodes[index]);
+        }
+
+        public LocalDateTime getDate() {
+            return decodeDate(snapshot.dates[index]);
+        }
+
+        public String getRoom() {
+            return snapshot.roomDictionary.value(snapshot.roomCodes[index]);
+        }
+
+        public String getSchool() {
+            return snapshot.schoolDictionary.value(snapshot.schoolCodes[index]);
+        }
+
+        public String getAcronym() {
+            return snapshot.acronyms[index];
+        }
+
+        /**
+         * Folded subject (see {@link SearchKeys#fold}), or null without a subject.
+         */
+        public String getSubjectKey() {
+            return snapshot.subjectKeys[index];
+        }
+
+        /**
+         * Folded acronym, or null without an acronym.
+         */
+        public String getAcronymKey() {
+            return snapshot.acronymKeys[index];
+        }
+
+        public String getCode() {
+            return snapshot.codes[index];
+        }
+
+        public String getExamInstanceId() {
+            return snapshot.examInstanceIds[index];
+        }
+
+        public String getExamTime() {
+            return snapshot.examTimes[index];
+        }
+
+        public Integer getDurationMinutes() {
+            int duration = snapshot.durations[index];
+            return duration != NO_DURATION ? duration : null;
+        }
+
+        public String getDurationDay() {
+            return snapshot.durationDays[index];
+        }
+
+        public String getComment() {
+            return snapshot.comments[index];
+        }
+
+        /**
+         * Detached entity with the row's values.
+         */
+        Exam toExam() {
+            Exam exam = new Exam();
+            exam.setId(getId());
+            exam.setSubject(getSubject());
+            exam.setDegree(getDegree());
+            exam.setYear(getYear());
+            exam.setSemester(getSemester());
+            exam.setDate(getDate());
+            exam.setRoom(getRoom());
+            exam.setSchool(getSchool());
+            exam.setExamInstanceId(getExamInstanceId());
+            exam.setExamTime(getExamTime());
+            exam.setCode(getCode());
+            exam.setAcronym(getAcronym());
+            exam.setDurationMinutes(getDurationMinutes());
+            exam.setDurationDay(getDurationDay());
+            exam.setComment(getComment());
+            return exam;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Rows-only on-disk cache of an {@link ExamSnapshot}, used to warm start
+ * without a database round trip.
+ *
+ * Layout, big-endian: a fixed header (magic, format version, load time,
+ * row count, payload length, CRC32 of the payload) followed by one record
+ * per row: id, date and duration as primitives, then every string column
+ * as a length-prefixed UTF-8 value (length -1 for null). Only the rows are
+ * stored. Loading decodes them and builds the snapshot with
+ * {@link ExamSnapshot#of}, so dictionaries, search keys and indexes cost
+ * the same as after a database load; the file saves only the query.
+ *
+ * The file is written to a temporary sibling and moved into place, so a
+ * crash mid-write never leaves a torn file behind. Reads load the whole
+ * file and reject it on any magic, version, length or checksum mismatch.
+ */
+final class ExamSnapshotFile {
+
+    static final int MAGIC = 0x4558534E; // "EXSN"
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 8;
+
+    private ExamSnapshotFile() {
+    }
+
+    /**
+     * Writes a snapshot, replacing any existing file.
+     *
+     * @param snapshot The snapshot
+     * @param path     Target file; parent directories are created
+     */
+    static void write(ExamSnapshot snapshot, Path path) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(1024, snapshot.size() * 256));
+        DataOutputStream payload = new DataOutputStream(bytes);
+        for (ExamSnapshot.Row row : snapshot.rows(snapshot.findAll())) {
+            payload.writeLong(row.getId());
+            payload.writeLong(ExamSnapshot.encodeDate(row.getDate()));
+            payload.writeInt(row.getDurationMinutes() != null ? row.getDurationMinutes() : ExamSnapshot.NO_DURATION);
+            writeString(payload, row.getSubject());
+            writeString(payload, row.getDegree());
+            writeString(payload, row.getYear());
+            writeString(payload, row.getSemester());
+            writeString(payload, row.getRoom());
+            writeString(payload, row.getSchool());
+            writeString(payload, row.getExamInstanceId());
+            writeString(payload, row.getExamTime());
+            writeString(payload, row.getCode());
+            writeString(payload, row.getAcronym());
+            writeString(payload, row.getDurationDay());
+            writeString(payload, row.getComment());
+        }
+        payload.flush();
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(snapshot.getLoadedAt().toEpochMilli())
+                .putInt(snapshot.size())
+                .putInt(body.length)
+                .putLong(crc.getValue())
+                .flip();
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(new ByteBuffer[] { header, ByteBuffer.wrap(body) });
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads and decodes a snapshot file, then builds the snapshot from its rows.
+     *
+     * @param path The file
+     * @return The snapshot, carrying the load time of the data it was written from
+     * @throws IOException If the file is missing, from another format version, truncated or corrupt
+     */
+    static ExamSnapshot read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new IOException("Snapshot file too short: " + buffer.remaining() + " bytes");
+        }
+        try {
+            int magic = buffer.getInt();
+            if (magic != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + version);
+            }
+            Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+            int rowCount = buffer.getInt();
+            int payloadLength = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (rowCount < 0 || payloadLength != buffer.remaining()) {
+                throw new IOException("Snapshot file truncated");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Snapshot file checksum mismatch");
+            }
+
+            List<Exam> exams = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                Exam exam = new Exam();
+                exam.setId(buffer.getLong());
+                exam.setDate(ExamSnapshot.decodeDate(buffer.getLong()));
+                int duration = buffer.getInt();
+                exam.setDurationMinutes(duration != ExamSnapshot.NO_DURATION ? duration : null);
+                exam.setSubject(readString(buffer));
+                exam.setDegree(readString(buffer));
+                exam.setYear(readString(buffer));
+                exam.setSemester(readString(buffer));
+                exam.setRoom(readString(buffer));
+                exam.setSchool(readString(buffer));
+                exam.setExamInstanceId(readString(buffer));
+                exam.setExamTime(readString(buffer));
+                exam.setCode(readString(buffer));
+                exam.setAcronym(readString(buffer));
+                exam.setDurationDay(readString(buffer));
+                exam.setComment(readString(buffer));
+                exams.add(exam);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Snapshot file has trailing data");
+            }
+            return ExamSnapshot.of(exams, loadedAt);
+        } catch (RuntimeException e) {
+            // Buffer underflows and bad lengths from a file that passed the checksum
+            throw new IOException("Malformed snapshot file: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,320 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.repository.ExamRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link ExamSnapshot} and keeps it in sync with the database.
+ *
+ * The snapshot is loaded on the startup thread, then rebuilt on a background
+ * thread on a fixed schedule. Every change swaps a single volatile
+ * reference, so readers never block and always see one complete, consistent
+ * snapshot. A failed load keeps the previous snapshot; before the first
+ * successful load {@link #getSnapshot()} returns null and
+ * {@link ExamService} falls back to the repository.
+ *
+ * Committed writes are not reloaded from the database. Each one arrives as
+ * an {@link ExamDelta} on the committing thread, which applies it with
+ * {@link ExamSnapshot#apply} and swaps the result in before the write's
+ * response is sent, so the writer and everyone after it read the change
+ * from memory. The new snapshot shares the previous one's columns and
+ * indexes and only re-indexes the rows written since the last full build.
+ * Once those reach {@code exams.snapshot.compact-rows}, the background
+ * thread folds them into a fresh snapshot from memory. A rebuild replays the
+ * writes applied while it ran before swapping, so none is lost. Writes also
+ * bump {@link #getVersion()} and clear {@link ExamSearchCache}, whether or
+ * not a snapshot is loaded.
+ *
+ * When a snapshot file is configured, every scheduled load also writes its
+ * rows to it, and startup builds the snapshot from that file instead of
+ * querying the database, so the first requests do not wait on the database.
+ * The database load then runs in the background and replaces the
+ * file-backed snapshot once it completes.
+ */
+@Service
+@Slf4j
+public class ExamSnapshotService {
+
+    private final ExamRepository examRepository;
+    private final ExamSearchCache searchCache;
+    private final boolean enabled;
+    private final long refreshIntervalSeconds;
+    private final int compactRows;
+    private final Path snapshotFile;
+
+    private volatile ExamSnapshot snapshot;
+    // Bumped on every swap and write, so caches derived from a snapshot can tell it was replaced
+    private final AtomicLong version = new AtomicLong();
+    // Writes applied while a rebuild runs, replayed onto its result; null between rebuilds. Guarded by this
+    private List<ExamDelta> journal;
+    // Rebuilds are serialised so that only one journal is open at a time
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    public ExamSnapshotService(
+            ExamRepository examRepository,
+            ExamSearchCache searchCache,
+            MeterRegistry meterRegistry,
+            @Value("${exams.snapshot.enabled:true}") boolean enabled,
+            @Value("${exams.snapshot.refresh-seconds:300}") long refreshIntervalSeconds,
+            @Value("${exams.snapshot.compact-rows:256}") int compactRows,
+            @Value("${exams.snapshot.file:}") String snapshotFile) {
+        this.examRepository = examRepository;
+        this.searchCache = searchCache;
+        this.enabled = enabled;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        this.compactRows = compactRows;
+        this.snapshotFile = snapshotFile != null && !snapshotFile.isBlank() ? Path.of(snapshotFile.trim()) : null;
+        Gauge.builder("exams.snapshot.size", this, service -> {
+            ExamSnapshot current = service.snapshot;
+            return current != null ? current.size() : 0;
+        }).description("Exams held in the in-memory snapshot").register(meterRegistry);
+        Gauge.builder("exams.snapshot.age", this, service -> {
+            ExamSnapshot current = service.snapshot;
+            return current != null
+                    ? (System.currentTimeMillis() - current.getLoadedAt().toEpochMilli()) / 1000.0
+                    : -1;
+        }).description("Seconds since the in-memory snapshot was loaded").baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("exams.snapshot.pending", this, service -> {
+            ExamSnapshot current = service.snapshot;
+            return current != null ? current.pendingRows() : 0;
+        }).description("Rows written to the in-memory snapshot since it was last built in full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Exam snapshot disabled; all reads go to the database");
+            return;
+        }
+
+        // Initial load happens on the startup thread, before any request is served:
+        // from the snapshot file when there is a usable one, otherwise from the database
+        boolean warm = loadFromFile();
+        if (!warm) {
+            refresh();
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exam-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, warm ? 0 : refreshIntervalSeconds, refreshIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Current snapshot, never blocking. Includes every write whose
+     * {@link #applyAfterCommit} has run.
+     *
+     * @return The snapshot, or null if none has been loaded yet
+     */
+    public ExamSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Number of snapshot swaps and committed writes so far; changes whenever
+     * the data served may have changed.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Applies a write to the snapshot once the current transaction commits,
+     * or right away when called outside a transaction. Rolled back changes
+     * leave the snapshot alone.
+     *
+     * @param delta The write
+     */
+    public void applyAfterCommit(ExamDelta delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeCommitted(delta);
+                }
+            });
+        } else {
+            writeCommitted(delta);
+        }
+    }
+
+    /**
+     * Runs on the committing thread before the write's response is sent, so
+     * the next read already sees the write and no cached search predates it.
+     */
+    void writeCommitted(ExamDelta delta) {
+        apply(delta);
+        searchCache.invalidateAll();
+    }
+
+    // Swaps before bumping the version, so a reader of the new version never gets the old snapshot
+    private synchronized void apply(ExamDelta delta) {
+        if (journal != null) {
+            journal.add(delta);
+        }
+        ExamSnapshot current = snapshot;
+        if (current != null) {
+            try {
+                ExamSnapshot next = current.apply(delta);
+                snapshot = next;
+                if (next.pendingRows() >= compactRows) {
+                    requestCompaction();
+                }
+            } catch (RuntimeException e) {
+                // Serving without the write would be wrong; reads use the repository until a reload
+                log.warn("Failed to apply {} to the exam snapshot, dropping it until it is reloaded: {}", delta,
+                        e.getMessage());
+                snapshot = null;
+                if (scheduler != null) {
+                    scheduler.execute(this::refresh);
+                }
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Schedules folding the written rows into a fresh snapshot, unless a
+     * compaction is already queued.
+     */
+    void requestCompaction() {
+        if (scheduler != null && compactionQueued.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                compactionQueued.set(false);
+                compact();
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the current snapshot from its own rows, without the database.
+     */
+    void compact() {
+        rebuild(current -> current != null && current.pendingRows() > 0 ? current.compact() : null, "Compacted");
+    }
+
+    /**
+     * Loads every exam, swaps in a new snapshot and writes it to the snapshot file.
+     * Failures keep the previous snapshot.
+     */
+    void refresh() {
+        ExamSnapshot loaded = rebuild(current -> ExamSnapshot.of(examRepository.findAll()), "Loaded");
+        if (loaded != null) {
+            saveToFile(loaded);
+        }
+    }
+
+    /**
+     * Builds a replacement for the current snapshot outside the write lock,
+     * then replays the writes applied meanwhile and swaps it in. Replaying a
+     * write the build already saw leaves the same rows, so a database load
+     * racing a write still ends up with it.
+     *
+     * @param build  Replacement for the current snapshot (null when there is
+     *               none), or null to keep the current one
+     * @param action Verb for the log line
+     * @return The installed snapshot, or null when nothing was installed
+     */
+    private ExamSnapshot rebuild(UnaryOperator<ExamSnapshot> build, String action) {
+        synchronized (rebuildLock) {
+            ExamSnapshot current;
+            synchronized (this) {
+                journal = new ArrayList<>();
+                current = snapshot;
+            }
+            try {
+                long started = System.nanoTime();
+                ExamSnapshot built = build.apply(current);
+                synchronized (this) {
+                    if (built == null) {
+                        journal = null;
+                        return null;
+                    }
+                    for (ExamDelta delta : journal) {
+                        built = built.apply(delta);
+                    }
+                    journal = null;
+                    snapshot = built;
+                    version.incrementAndGet();
+                }
+                log.info("{} exam snapshot with {} exams in {} ms", action, built.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                return built;
+            } catch (Exception e) {
+                synchronized (this) {
+                    journal = null;
+                }
+                log.warn("Failed to build exam snapshot, keeping the previous one: {}", e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Installs the snapshot from the snapshot file, if one is configured and valid.
+     *
+     * @return Whether a snapshot was loaded
+     */
+    boolean loadFromFile() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return false;
+        }
+        try {
+            long started = System.nanoTime();
+            ExamSnapshot loaded = ExamSnapshotFile.read(snapshotFile);
+            snapshot = loaded;
+            version.incrementAndGet();
+            log.info("Read exam snapshot with {} exams from {} in {} ms (data loaded at {})", loaded.size(),
+                    snapshotFile, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), loaded.getLoadedAt());
+            return true;
+        } catch (IOException e) {
+            log.warn("Ignoring snapshot file {}: {}", snapshotFile, e.getMessage());
+            return false;
+        }
+    }
+
+    private void saveToFile(ExamSnapshot loaded) {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            ExamSnapshotFile.write(loaded, snapshotFile);
+        } catch (IOException e) {
+            log.warn("Failed to write snapshot file {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+}
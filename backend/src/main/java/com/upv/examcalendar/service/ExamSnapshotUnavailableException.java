@@ -0,0 +1,13 @@
+package com.upv.examcalendar.service;
+
+/**
+ * Thrown by index-only queries (facets, clashes, room timelines,
+ * autocomplete) before the first snapshot has loaded or when the snapshot
+ * is disabled. Controllers answer it with 503 Service Unavailable.
+ */
+public class ExamSnapshotUnavailableException extends RuntimeException {
+
+    public ExamSnapshotUnavailableException() {
+        super("Exam index not loaded yet");
+    }
+}
@@ -0,0 +1,234 @@
+package com.upv.examcalendar.service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trigram posting lists for substring search over subject, acronym and degree.
+ *
+ * Every folded value (see {@link SearchKeys}) is split into overlapping three-character grams,
+ * and each gram maps to the sorted row positions whose value contains it.
+ * A substring query intersects the posting lists of the needle's grams,
+ * shortest first, and confirms the few surviving candidates with
+ * {@link String#contains}, so its cost follows the number of candidates
+ * rather than the number of rows. Needles shorter than three characters
+ * have no grams and fall back to a scan. Stemmed fields are matched with
+ * {@link #startingWord}, which confirms candidates only where the needle
+ * starts a word, so a short stem cannot match inside an unrelated word.
+ *
+ * Row positions are in the snapshot's (date, id) order, so results come
+ * out in date order without sorting.
+ */
+public final class ExamTrigramIndex {
+
+    /**
+     * Indexed text columns.
+     */
+    public enum Field {
+        SUBJECT,
+        ACRONYM,
+        DEGREE,
+        SUBJECT_STEM,
+        DEGREE_STEM
+    }
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final int size;
+    private final Map<Field, String[]> values = new EnumMap<>(Field.class);
+    private final Map<Field, Map<Long, int[]>> postings = new EnumMap<>(Field.class);
+
+    /**
+     * @param keys Search key per row position for each field; null entries are not indexed
+     */
+    ExamTrigramIndex(Map<Field, String[]> keys) {
+        int rows = 0;
+        for (Field field : Field.values()) {
+            String[] column = keys.get(field);
+            rows = column.length;
+            values.put(field, column);
+            postings.put(field, build(column));
+        }
+        this.size = rows;
+    }
+
+    /**
+     * Rows whose value in any of the fields contains the needle.
+     *
+     * @param needle Substring, folded the same way as the field
+     * @param fields Fields to search
+     * @return Row positions, ascending
+     */
+    public int[] containing(String needle, Field... fields) {
+        return matching(needle, false, fields);
+    }
+
+    /**
+     * Rows whose value in any of the fields has a word starting with the
+     * needle, such as a query stem equal to or a prefix of a stored word stem.
+     *
+     * @param needle Word prefix, folded the same way as the field
+     * @param fields Fields to search
+     * @return Row positions, ascending
+     */
+    public int[] startingWord(String needle, Field... fields) {
+        return matching(needle, true, fields);
+    }
+
+    private int[] matching(String needle, boolean wordStart, Field... fields) {
+        if (fields.length == 1) {
+            return matching(fields[0], needle, wordStart);
+        }
+        boolean[] matched = new boolean[size];
+        int count = 0;
+        for (Field field : fields) {
+            for (int row : matching(field, needle, wordStart)) {
+                if (!matched[row]) {
+                    matched[row] = true;
+                    count++;
+                }
+            }
+        }
+        int[] result = new int[count];
+        int next = 0;
+        for (int row = 0; row < size; row++) {
+            if (matched[row]) {
+                result[next++] = row;
+            }
+        }
+        return result;
+    }
+
+    private int[] matching(Field field, String needle, boolean wordStart) {
+        String[] column = values.get(field);
+        if (needle.length() < 3) {
+            return verify(column, null, needle, wordStart);
+        }
+        Map<Long, int[]> grams = postings.get(field);
+        long[] keys = grams(needle);
+        int[][] lists = new int[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            lists[i] = grams.getOrDefault(keys[i], NO_ROWS);
+            if (lists[i].length == 0) {
+                return NO_ROWS;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists[i]);
+        }
+        return verify(column, candidates, needle, wordStart);
+    }
+
+    // Grams only say the needle may occur; the value itself settles it. Null candidates means every row.
+    private int[] verify(String[] column, int[] candidates, String needle, boolean wordStart) {
+        int total = candidates != null ? candidates.length : column.length;
+        int[] result = new int[total];
+        int count = 0;
+        for (int i = 0; i < total; i++) {
+            int row = candidates != null ? candidates[i] : i;
+            String value = column[row];
+            if (value != null && (wordStart ? startsWord(value, needle) : value.contains(needle))) {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Whether the needle occurs at the start of the value or right after a space
+    static boolean startsWord(String value, String needle) {
+        for (int at = value.indexOf(needle); at >= 0; at = value.indexOf(needle, at + 1)) {
+            if (at == 0 || value.charAt(at - 1) == ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<Long, int[]> build(String[] column) {
+        Map<Long, int[]> lists = new HashMap<>();
+        Map<Long, Integer> lengths = new HashMap<>();
+        for (int row = 0; row < column.length; row++) {
+            if (column[row] == null) {
+                continue;
+            }
+            for (long key : grams(column[row])) {
+                int length = lengths.getOrDefault(key, 0);
+                int[] list = lists.get(key);
+                // A value repeating a gram adds the row once; rows arrive in ascending order
+                if (length > 0 && list[length - 1] == row) {
+                    continue;
+                }
+                if (list == null) {
+                    list = new int[4];
+                } else if (length == list.length) {
+                    list = Arrays.copyOf(list, length * 2);
+                }
+                list[length] = row;
+                lists.put(key, list);
+                lengths.put(key, length + 1);
+            }
+        }
+        lists.replaceAll((key, list) -> Arrays.copyOf(list, lengths.get(key)));
+        return lists;
+    }
+
+    /**
+     * Overlapping grams of a value, each packed as three 16-bit chars.
+     */
+    static long[] grams(String value) {
+        int count = Math.max(0, value.length() - 2);
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        return keys;
+    }
+
+    /**
+     * Union of two ascending row lists.
+     */
+    static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                result[count++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                result[count++] = b[j++];
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Intersection of two ascending row lists.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
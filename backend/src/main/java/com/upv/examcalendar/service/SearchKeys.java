@@ -0,0 +1,87 @@
+package com.upv.examcalendar.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Search key folding shared by indexed values and query terms.
+ *
+ * {@link #fold} lower-cases, strips accents and diacritics ("Programación"
+ * becomes "programacion", "Ñ" becomes "n") and collapses whitespace.
+ * {@link #stem} additionally applies a light Spanish stemmer to each word,
+ * removing plural and gender endings, so "exámenes" and "examen" share the
+ * key "examen". Snapshot columns are folded once when the snapshot is built;
+ * queries go through the same functions, so matching is plain string
+ * comparison.
+ */
+public final class SearchKeys {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private SearchKeys() {
+    }
+
+    /**
+     * Lower-cased, accent-free, whitespace-collapsed key; "" for null.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * Folded key with every word stemmed.
+     */
+    public static String stem(String value) {
+        String folded = fold(value);
+        if (folded.isEmpty()) {
+            return folded;
+        }
+        String[] words = folded.split(" ");
+        StringBuilder stemmed = new StringBuilder(folded.length());
+        for (String word : words) {
+            if (stemmed.length() > 0) {
+                stemmed.append(' ');
+            }
+            stemmed.append(stemWord(word));
+        }
+        return stemmed.toString();
+    }
+
+    /**
+     * Light Spanish stemmer for one folded word: drops a final vowel and
+     * plural endings, mapping "-ces" back to "-z". Short words are kept.
+     */
+    static String stemWord(String word) {
+        int length = word.length();
+        if (length < 5) {
+            return word;
+        }
+        switch (word.charAt(length - 1)) {
+            case 'o':
+            case 'a':
+            case 'e':
+                return word.substring(0, length - 1);
+            case 's':
+                char beforeS = word.charAt(length - 2);
+                if (beforeS == 'e' && word.charAt(length - 3) == 's' && word.charAt(length - 4) == 'e') {
+                    return word.substring(0, length - 2);
+                }
+                if (beforeS == 'e' && word.charAt(length - 3) == 'c') {
+                    return word.substring(0, length - 3) + "z";
+                }
+                if (beforeS == 'o' || beforeS == 'a' || beforeS == 'e') {
+                    return word.substring(0, length - 2);
+                }
+                return word;
+            default:
+                return word;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.upv.examcalendar.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Sorted dictionary for a low-cardinality string column.
+ *
+ * Each distinct value gets an int code equal to its position in sorted
+ * order, so comparing codes is the same as comparing values. Null is
+ * encoded as {@link #NULL_CODE}.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final String[] values;
+    private final String[] searchKeys;
+    private final String[] searchStems;
+    private final Map<String, Integer> codes;
+
+    private StringDictionary(String[] values) {
+        this.values = values;
+        this.searchKeys = new String[values.length];
+        this.searchStems = new String[values.length];
+        this.codes = new HashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            searchKeys[i] = SearchKeys.fold(values[i]);
+            searchStems[i] = SearchKeys.stem(values[i]);
+            codes.put(values[i], i);
+        }
+    }
+
+    /**
+     * Builds a dictionary from every non-null value in a column.
+     */
+    static StringDictionary of(Iterable<String> column) {
+        TreeSet<String> distinct = new TreeSet<>();
+        for (String value : column) {
+            if (value != null) {
+                distinct.add(value);
+            }
+        }
+        return new StringDictionary(distinct.toArray(new String[0]));
+    }
+
+    /**
+     * Code for a value.
+     *
+     * @return The code, or {@link #NULL_CODE} for null or unknown values
+     */
+    int code(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : NULL_CODE;
+    }
+
+    /**
+     * Value for a code, null for {@link #NULL_CODE}.
+     */
+    String value(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * Folded search key for a code, null for {@link #NULL_CODE}.
+     */
+    String searchKey(int code) {
+        return code == NULL_CODE ? null : searchKeys[code];
+    }
+
+    /**
+     * Stemmed search key for a code, null for {@link #NULL_CODE}.
+     */
+    String searchStem(int code) {
+        return code == NULL_CODE ? null : searchStems[code];
+    }
+
+    /**
+     * Number of distinct values.
+     */
+    int size() {
+        return values.length;
+    }
+
+    /**
+     * All values in code order.
+     */
+    List<String> values() {
+        return List.of(values);
+    }
+}
@@ -0,0 +1,16 @@
+-- Indexes for keyset (cursor) pagination on the ETSINF exam table.
+-- Apply manually in the Supabase SQL editor (spring.jpa.hibernate.ddl-auto=none).
+--
+-- The /scroll listings read "rows after (exam_date, id)" ordered by
+-- exam_date, id with a LIMIT. With these indexes PostgreSQL starts an index
+-- scan at the cursor and stops after one slice, however deep the cursor is.
+-- The default NULLS LAST ordering matches the listings, where undated exams
+-- come last; backward slices scan the same indexes in reverse.
+
+CREATE INDEX IF NOT EXISTS idx_etsinf_date_id ON public."ETSINF" (exam_date, id);
+CREATE INDEX IF NOT EXISTS idx_etsinf_degree_date_id ON public."ETSINF" (degree, exam_date, id);
+
+-- Check the plan uses the index:
+-- EXPLAIN ANALYZE SELECT id FROM public."ETSINF"
+--     WHERE exam_date > '2024-06-10 09:00' OR (exam_date = '2024-06-10 09:00' AND id > 42) OR exam_date IS NULL
+--     ORDER BY exam_date, id LIMIT 21;
@@ -0,0 +1,26 @@
+-- Folded search key column for accent- and case-insensitive search on the ETSINF exam table.
+-- Apply manually in the Supabase SQL editor (spring.jpa.hibernate.ddl-auto=none).
+--
+-- search_key holds subject, acronym and degree lower-cased and without accents,
+-- computed once when a row is written, so ExamRepository.searchBySearchKey
+-- compares against a precomputed value instead of folding every row per query.
+-- The application folds the query term the same way (SearchKeys.fold).
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() is only STABLE; generated columns and indexes need an IMMUTABLE wrapper
+CREATE OR REPLACE FUNCTION public.f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+ALTER TABLE public."ETSINF"
+    ADD COLUMN IF NOT EXISTS search_key text GENERATED ALWAYS AS (
+        lower(public.f_unaccent(
+            COALESCE(subject, '') || ' ' || COALESCE(acronym, '') || ' ' || COALESCE(degree, '')))
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_etsinf_search_key_trgm ON public."ETSINF" USING gin (search_key gin_trgm_ops);
+
+-- Check the plan uses the index:
+-- EXPLAIN ANALYZE SELECT id FROM public."ETSINF" WHERE search_key LIKE '%algebra%';
@@ -0,0 +1,22 @@
+-- Stored full-text vector for ranked search on the ETSINF exam table.
+-- Apply manually in the Supabase SQL editor (spring.jpa.hibernate.ddl-auto=none).
+-- Requires public.f_unaccent from db/exam_search_keys.sql.
+--
+-- search_vector is computed once when a row is written, and the GIN index
+-- answers ExamRepository.searchExamsOptimized / searchExamsHighlighted
+-- directly, so a search reads only the matching rows. Subject and acronym
+-- weigh more (A) than degree (B) in ts_rank. The query side must use the same
+-- configuration and unaccent: plainto_tsquery('spanish', f_unaccent(term)).
+
+ALTER TABLE public."ETSINF"
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', public.f_unaccent(COALESCE(subject, ''))), 'A') ||
+        setweight(to_tsvector('spanish', public.f_unaccent(COALESCE(acronym, ''))), 'A') ||
+        setweight(to_tsvector('spanish', public.f_unaccent(COALESCE(degree, ''))), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_etsinf_search_vector ON public."ETSINF" USING gin (search_vector);
+
+-- Check the plan uses the index (Bitmap Index Scan on idx_etsinf_search_vector):
+-- EXPLAIN ANALYZE SELECT id FROM public."ETSINF"
+--     WHERE search_vector @@ plainto_tsquery('spanish', public.f_unaccent('redes'));
@@ -0,0 +1,15 @@
+-- Trigram indexes for substring search on the ETSINF exam table.
+-- Apply manually in the Supabase SQL editor (spring.jpa.hibernate.ddl-auto=none).
+--
+-- With these, the ILIKE '%term%' predicates in ExamRepository
+-- (findBySubjectContainingIgnoreCaseOrderByDateAsc, searchExams) are answered
+-- from GIN trigram indexes instead of sequential scans.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_etsinf_subject_trgm ON public."ETSINF" USING gin (subject gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_etsinf_acronym_trgm ON public."ETSINF" USING gin (acronym gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_etsinf_degree_trgm ON public."ETSINF" USING gin (degree gin_trgm_ops);
+
+-- Check the plan uses the indexes:
+-- EXPLAIN ANALYZE SELECT id FROM public."ETSINF" WHERE subject ILIKE '%datos%';
@@ -0,0 +1,28 @@
+-- Revoked Supabase sessions, read incrementally by SessionRevocationService.
+-- Apply manually in the Supabase SQL editor (spring.jpa.hibernate.ddl-auto=none).
+
+CREATE TABLE IF NOT EXISTS public.revoked_sessions (
+    session_id TEXT PRIMARY KEY,
+    revoked_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_sessions_revoked_at ON public.revoked_sessions (revoked_at);
+
+-- Record a revocation whenever GoTrue deletes a session (sign-out, sign-out everywhere)
+CREATE OR REPLACE FUNCTION public.record_revoked_session() RETURNS trigger
+    LANGUAGE plpgsql SECURITY DEFINER AS $$
+BEGIN
+    INSERT INTO public.revoked_sessions (session_id, revoked_at)
+    VALUES (OLD.id::text, now())
+    ON CONFLICT (session_id) DO UPDATE SET revoked_at = EXCLUDED.revoked_at;
+    RETURN OLD;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS on_auth_session_deleted ON auth.sessions;
+CREATE TRIGGER on_auth_session_deleted
+    AFTER DELETE ON auth.sessions
+    FOR EACH ROW EXECUTE FUNCTION public.record_revoked_session();
+
+-- Housekeeping: revocations older than the longest token lifetime are no longer needed
+-- DELETE FROM public.revoked_sessions WHERE revoked_at < now() - INTERVAL '1 day';
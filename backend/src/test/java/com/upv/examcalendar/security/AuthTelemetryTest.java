@@ -0,0 +1,70 @@
+package com.upv.examcalendar.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuthTelemetry Tests")
+class AuthTelemetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthTelemetry telemetry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        telemetry = new AuthTelemetry(meterRegistry, 0.0, 5, 15);
+    }
+
+    @Test
+    @DisplayName("Should count every rejection even when its log line is sampled out")
+    void countsRegardlessOfSampling() {
+        // When
+        for (int i = 0; i < 50; i++) {
+            telemetry.recordRejected(TokenRejectionReason.BAD_SIGNATURE, "10.0.0.1");
+        }
+        telemetry.recordAccepted(AuthTelemetry.AuthPath.ANON_KEY, null, "10.0.0.1");
+
+        // Then
+        assertThat(meterRegistry.get("auth.outcomes")
+                .tag("result", "rejected").tag("reason", "bad_signature").counter().count()).isEqualTo(50.0);
+        assertThat(meterRegistry.get("auth.outcomes")
+                .tag("result", "accepted").tag("reason", "anon_key").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should add and remove runtime debug targets")
+    void debugTargets() {
+        // When
+        telemetry.enableDebug("10.0.0.1");
+        telemetry.enableDebug("user-123");
+        telemetry.disableDebug("10.0.0.1");
+
+        // Then
+        assertThat(telemetry.getDebugTargets()).containsExactly("user-123");
+    }
+
+    @Test
+    @DisplayName("Should switch debug lookups off once every target has expired")
+    void debugTargetsExpire() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        AuthTelemetry expiring = new AuthTelemetry(new SimpleMeterRegistry(), 0.0, 5, 15, nanos::get);
+        expiring.enableDebug("10.0.0.1");
+        assertThat(expiring.isDebugActive()).isTrue();
+
+        // When
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(16));
+        expiring.recordRejected(TokenRejectionReason.EXPIRED, "10.0.0.1");
+
+        // Then
+        assertThat(expiring.getDebugTargets()).isEmpty();
+        assertThat(expiring.isDebugActive()).isFalse();
+    }
+}
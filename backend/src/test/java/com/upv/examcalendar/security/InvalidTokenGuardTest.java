@@ -0,0 +1,72 @@
+package com.upv.examcalendar.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InvalidTokenGuard Tests")
+class InvalidTokenGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InvalidTokenGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new InvalidTokenGuard(meterRegistry, 100, 60, 3, 60);
+    }
+
+    @Test
+    @DisplayName("Should remember rejected token digests")
+    void negativeCache() {
+        // Given
+        String digest = VerifiedTokenCache.digest("garbage");
+
+        // When
+        guard.recordRejected(digest, TokenRejectionReason.EXPIRED, "10.0.0.1");
+
+        // Then
+        assertThat(guard.isKnownInvalid(digest)).isTrue();
+        assertThat(guard.getRejectionReason(digest)).isEqualTo(TokenRejectionReason.EXPIRED);
+        assertThat(guard.isKnownInvalid(VerifiedTokenCache.digest("other"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should neither cache nor charge unknown key ids or verification errors")
+    void unsupportedNotCached() {
+        // Given
+        String digest = VerifiedTokenCache.digest("rotated-kid");
+        String failedDigest = VerifiedTokenCache.digest("jwks-outage");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            guard.recordRejected(digest, TokenRejectionReason.UNSUPPORTED, "10.0.0.1");
+            guard.recordRejected(failedDigest, TokenRejectionReason.ERROR, "10.0.0.1");
+        }
+
+        // Then
+        assertThat(guard.isKnownInvalid(digest)).isFalse();
+        assertThat(guard.isKnownInvalid(failedDigest)).isFalse();
+        assertThat(guard.shouldShed("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should shed a source only after it reaches the failure threshold")
+    void shedAfterThreshold() {
+        // Given
+        guard.recordFailure("10.0.0.1");
+        guard.recordFailure("10.0.0.1");
+        assertThat(guard.shouldShed("10.0.0.1")).isFalse();
+
+        // When
+        guard.recordFailure("10.0.0.1");
+
+        // Then
+        assertThat(guard.shouldShed("10.0.0.1")).isTrue();
+        assertThat(guard.shouldShed("10.0.0.2")).isFalse();
+        assertThat(meterRegistry.get("auth.requests.shed").counter().count()).isEqualTo(1.0);
+    }
+}
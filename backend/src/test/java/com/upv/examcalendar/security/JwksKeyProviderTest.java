@@ -0,0 +1,123 @@
+package com.upv.examcalendar.security;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwksKeyProvider Tests")
+class JwksKeyProviderTest {
+
+    private static final String KID = "test-es256";
+
+    @TempDir
+    Path tempDir;
+
+    private KeyPair keyPair;
+    private String jwksJson;
+    private JwksKeyProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        keyPair = Jwts.SIG.ES256.keyPair().build();
+        PublicJwk<?> jwk = Jwks.builder().key(keyPair.getPublic()).id(KID).build();
+        jwksJson = "{\"keys\":[" + Jwks.json(jwk) + "]}";
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load keys from a local file and verify ES256 tokens")
+    void verifyWithFileJwks() throws Exception {
+        // Given
+        Path file = tempDir.resolve("jwks.json");
+        Files.writeString(file, jwksJson);
+        provider = new JwksKeyProvider(new RestTemplate(), file.toUri().toString(), 600);
+        provider.start();
+        SupabaseJwtUtil jwtUtil = TestTokens.newJwtUtil(provider);
+
+        // When
+        VerifiedToken verified = jwtUtil.verifyToken(es256Token(KID));
+
+        // Then
+        assertThat(provider.size()).isEqualTo(1);
+        assertThat(verified).isNotNull();
+        assertThat(verified.getUserId()).isEqualTo("user-es");
+        // HS256 tokens keep working alongside the key set
+        assertThat(jwtUtil.verifyToken(TestTokens.validUserToken())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should load keys from a local HTTP endpoint")
+    void loadFromHttpStub() throws Exception {
+        // Given
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/auth/v1/.well-known/jwks.json", exchange -> {
+            byte[] body = jwksJson.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String uri = "http://127.0.0.1:" + server.getAddress().getPort() + "/auth/v1/.well-known/jwks.json";
+            provider = new JwksKeyProvider(new RestTemplate(), uri, 600);
+
+            // When
+            provider.start();
+
+            // Then
+            assertThat(provider.getKey(KID)).isEqualTo(keyPair.getPublic());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject tokens with an unknown kid without blocking")
+    void rejectUnknownKid() throws Exception {
+        // Given
+        Path file = tempDir.resolve("jwks.json");
+        Files.writeString(file, jwksJson);
+        provider = new JwksKeyProvider(new RestTemplate(), file.toUri().toString(), 600);
+        provider.start();
+        SupabaseJwtUtil jwtUtil = TestTokens.newJwtUtil(provider);
+
+        // When & Then
+        assertThat(jwtUtil.verifyToken(es256Token("rotated-away"))).isNull();
+        assertThat(provider.size()).isEqualTo(1);
+    }
+
+    private String es256Token(String kid) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("user-es")
+                .claim("role", SupabaseJwtUtil.AUTHENTICATED_ROLE)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 3_600_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+}
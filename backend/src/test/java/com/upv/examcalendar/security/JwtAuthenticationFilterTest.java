@@ -0,0 +1,144 @@
+package com.upv.examcalendar.security;
+
+import com.upv.examcalendar.config.SupabaseConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String ANON_KEY = "public-anon-key";
+
+    private JwtAuthenticationFilter filter;
+    private VerifiedTokenCache tokenCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SupabaseJwtUtil jwtUtil = TestTokens.newJwtUtil();
+        SupabaseConfig supabaseConfig = new SupabaseConfig();
+        supabaseConfig.setAnonKey(ANON_KEY);
+
+        tokenCache = new VerifiedTokenCache(meterRegistry, 100, 300);
+        filter = new JwtAuthenticationFilter(
+                jwtUtil,
+                new SupabaseUserDetailsService(jwtUtil),
+                tokenCache,
+                new InvalidTokenGuard(meterRegistry, 100, 60, 2, 60),
+                new AnonKeyMatcher(supabaseConfig),
+                new SessionRevocationService(null, false, "revoked_sessions", 10, 3900),
+                new AuthTelemetry(meterRegistry, 1.0, 5, 15));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a valid bearer token and cache it")
+    void authenticateValidToken() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/exams");
+        request.addHeader("Authorization", "Bearer " + TestTokens.validUserToken());
+
+        // When
+        Authentication authentication = runFilter(request).authentication;
+
+        // Then
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOf(SupabaseUserDetails.class);
+        assertThat(tokenCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should map the anon key to the shared anonymous authentication")
+    void anonKeyFastPath() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/exams");
+        request.addHeader("apikey", ANON_KEY);
+
+        // When
+        Authentication authentication = runFilter(request).authentication;
+
+        // Then
+        assertThat(authentication).isSameAs(AnonKeyMatcher.ANONYMOUS);
+        assertThat(tokenCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave invalid tokens unauthenticated and shed repeat offenders")
+    void shedRepeatedInvalidTokens() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/exams");
+            request.addHeader("Authorization", "Bearer " + TestTokens.expiredUserToken());
+            FilterResult result = runFilter(request);
+            assertThat(result.authentication).isNull();
+            assertThat(result.response.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/exams");
+        request.addHeader("Authorization", "Bearer garbage");
+        FilterResult result = runFilter(request);
+
+        assertThat(result.response.getStatus()).isEqualTo(429);
+        assertThat(result.chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should count outcomes by reason, including repeats served from the negative cache")
+    void countOutcomesByReason() throws Exception {
+        // Given
+        MockHttpServletRequest valid = new MockHttpServletRequest("GET", "/api/exams");
+        valid.addHeader("Authorization", "Bearer " + TestTokens.validUserToken());
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/exams");
+        expired.addHeader("Authorization", "Bearer " + TestTokens.expiredUserToken());
+
+        // When
+        runFilter(valid);
+        runFilter(valid);
+        runFilter(expired);
+        runFilter(expired);
+
+        // Then
+        assertThat(outcomes("accepted", "verified")).isEqualTo(1.0);
+        assertThat(outcomes("accepted", "cached")).isEqualTo(1.0);
+        assertThat(outcomes("rejected", "expired")).isEqualTo(2.0);
+    }
+
+    private double outcomes(String result, String reason) {
+        return meterRegistry.get("auth.outcomes").tag("result", result).tag("reason", reason).counter().count();
+    }
+
+    private FilterResult runFilter(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return new FilterResult(response, chain, authentication);
+    }
+
+    private static class FilterResult {
+        private final MockHttpServletResponse response;
+        private final MockFilterChain chain;
+        private final Authentication authentication;
+
+        private FilterResult(MockHttpServletResponse response, MockFilterChain chain, Authentication authentication) {
+            this.response = response;
+            this.chain = chain;
+            this.authentication = authentication;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.upv.examcalendar.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SessionRevocationService Tests")
+class SessionRevocationServiceTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SessionRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE revoked_sessions (session_id VARCHAR(64) PRIMARY KEY, "
+                + "revoked_at TIMESTAMP NOT NULL)");
+        revocationService = new SessionRevocationService(jdbcTemplate, true, "revoked_sessions", 3600, 3900);
+    }
+
+    @AfterEach
+    void tearDown() {
+        revocationService.stop();
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should load recent revocations and ignore ones past retention")
+    void initialLoad() {
+        // Given
+        revoke("recent", Instant.now().minusSeconds(60));
+        revoke("ancient", Instant.now().minusSeconds(10_000));
+
+        // When
+        revocationService.start();
+
+        // Then
+        assertThat(revocationService.isRevoked("recent")).isTrue();
+        assertThat(revocationService.isRevoked("ancient")).isFalse();
+        assertThat(revocationService.isRevoked("active")).isFalse();
+        assertThat(revocationService.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should pick up new revocations incrementally")
+    void incrementalRefresh() {
+        // Given
+        revocationService.start();
+        assertThat(revocationService.isRevoked("later")).isFalse();
+
+        // When
+        revoke("later", Instant.now());
+        revocationService.refresh();
+
+        // Then
+        assertThat(revocationService.isRevoked("later")).isTrue();
+        assertThat(revocationService.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the Bloom filter free of false negatives")
+    void bloomFilterHasNoFalseNegatives() {
+        SessionBloomFilter bloom = new SessionBloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.add("session-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(bloom.mightContain("session-" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloom.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(100);
+    }
+
+    private void revoke(String sessionId, Instant at) {
+        jdbcTemplate.update("INSERT INTO revoked_sessions (session_id, revoked_at) VALUES (?, ?)",
+                sessionId, Timestamp.from(at));
+    }
+}
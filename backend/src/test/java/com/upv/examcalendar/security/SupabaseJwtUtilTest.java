@@ -0,0 +1,65 @@
+package com.upv.examcalendar.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SupabaseJwtUtil Tests")
+class SupabaseJwtUtilTest {
+
+    private SupabaseJwtUtil jwtUtil;
+    private SupabaseUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = TestTokens.newJwtUtil();
+        userDetailsService = new SupabaseUserDetailsService(jwtUtil);
+    }
+
+    @Test
+    @DisplayName("Should verify a valid token and expose all claims in one pass")
+    void verifyValidToken() {
+        // Given
+        String token = TestTokens.validUserToken();
+
+        // When
+        VerifiedToken verified = jwtUtil.verifyToken(token);
+
+        // Then
+        assertThat(verified).isNotNull();
+        assertThat(verified.getUserId()).isEqualTo("user-1");
+        assertThat(verified.getEmail()).isEqualTo("user-1@upv.es");
+        assertThat(verified.getRole()).isEqualTo(SupabaseJwtUtil.AUTHENTICATED_ROLE);
+        assertThat(verified.getSessionId()).isEqualTo("session-user-1");
+        assertThat(verified.isMfaEnabled()).isFalse();
+        assertThat(verified.getToken()).isEqualTo(token);
+    }
+
+    @Test
+    @DisplayName("Should reject expired, malformed and empty tokens")
+    void rejectInvalidTokens() {
+        assertThat(jwtUtil.verifyToken(TestTokens.expiredUserToken())).isNull();
+        assertThat(jwtUtil.verifyToken("not.a.jwt")).isNull();
+        assertThat(jwtUtil.verifyToken("")).isNull();
+        assertThat(jwtUtil.validateToken(TestTokens.validUserToken())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should build user details from a verified token without re-parsing")
+    void loadUserByVerifiedToken() {
+        // Given
+        VerifiedToken verified = jwtUtil.verifyToken(TestTokens.validUserToken());
+
+        // When
+        SupabaseUserDetails user = userDetailsService.loadUserByVerifiedToken(verified);
+
+        // Then
+        assertThat(user).isNotNull();
+        assertThat(user.getUserId()).isEqualTo("user-1");
+        assertThat(user.isAuthenticated()).isTrue();
+        assertThat(user.getAuthorities()).extracting("authority")
+                .containsExactly("ROLE_USER", "ROLE_AUTHENTICATED");
+    }
+}
@@ -0,0 +1,62 @@
+package com.upv.examcalendar.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Helper for signing Supabase-style JWTs in security tests.
+ */
+public class TestTokens {
+
+    // 256-bit HMAC secret, base64 encoded like SUPABASE_JWT_SECRET
+    public static final String SECRET = Base64.getEncoder()
+            .encodeToString("test-secret-test-secret-test-secret-32".getBytes());
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+
+    /**
+     * Creates a util wired with the test secret and no issuer check.
+     */
+    public static SupabaseJwtUtil newJwtUtil() {
+        return newJwtUtil(new JwksKeyProvider(new RestTemplate(), "", 600));
+    }
+
+    /**
+     * Creates a util wired with the test secret and the given JWKS provider.
+     */
+    public static SupabaseJwtUtil newJwtUtil(JwksKeyProvider jwksKeyProvider) {
+        SupabaseJwtUtil jwtUtil = new SupabaseJwtUtil(jwksKeyProvider);
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "projectUrl", "");
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    public static String token(String subject, String role, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(subject)
+                .claim("role", role)
+                .claim("email", subject + "@upv.es")
+                .claim("session_id", "session-" + subject)
+                .claim("aal", "aal1")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMillis))
+                .signWith(KEY)
+                .compact();
+    }
+
+    public static String validUserToken() {
+        return token("user-1", SupabaseJwtUtil.AUTHENTICATED_ROLE, 3_600_000);
+    }
+
+    public static String expiredUserToken() {
+        return token("user-1", SupabaseJwtUtil.AUTHENTICATED_ROLE, -60_000);
+    }
+}
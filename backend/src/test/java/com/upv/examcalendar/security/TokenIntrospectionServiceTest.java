@@ -0,0 +1,95 @@
+package com.upv.examcalendar.security;
+
+import com.upv.examcalendar.dto.TokenIntrospectionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenIntrospectionService Tests")
+class TokenIntrospectionServiceTest {
+
+    private VerifiedTokenCache tokenCache;
+    private InvalidTokenGuard invalidTokenGuard;
+    private TokenIntrospectionService introspectionService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new VerifiedTokenCache(meterRegistry, 100, 300);
+        invalidTokenGuard = new InvalidTokenGuard(meterRegistry, 100, 60, 30, 60);
+        introspectionService = new TokenIntrospectionService(
+                TestTokens.newJwtUtil(),
+                new SessionRevocationService(null, false, "revoked_sessions", 10, 3900),
+                tokenCache, invalidTokenGuard, 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        introspectionService.stop();
+    }
+
+    @Test
+    @DisplayName("Should return claims or rejection reasons in request order")
+    void introspectBatch() {
+        // Given
+        List<String> tokens = Arrays.asList(
+                TestTokens.validUserToken(),
+                TestTokens.expiredUserToken(),
+                "garbage",
+                "");
+
+        // When
+        List<TokenIntrospectionDto> results = introspectionService.introspect(tokens);
+
+        // Then
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).isActive()).isTrue();
+        assertThat(results.get(0).getUserId()).isEqualTo("user-1");
+        assertThat(results.get(0).getExpiresAt()).isNotNull();
+        assertThat(results.get(1).getReason()).isEqualTo("EXPIRED");
+        assertThat(results.get(2).getReason()).isEqualTo("MALFORMED");
+        assertThat(results.get(3).getReason()).isEqualTo("EMPTY");
+    }
+
+    @Test
+    @DisplayName("Should keep request order when the bounded queue overflows onto the caller")
+    void introspectLargeBatch() {
+        // Given: more tokens than two threads and a queue of four can hold
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(i % 2 == 0 ? TestTokens.validUserToken() : "garbage-" + i);
+        }
+
+        // When
+        List<TokenIntrospectionDto> results = introspectionService.introspect(tokens);
+
+        // Then
+        assertThat(results).hasSize(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(results.get(i).isActive()).isEqualTo(i % 2 == 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer tokens the filter already rejected without verifying them again")
+    void introspectKnownRejection() {
+        // Given: an otherwise valid token recorded as rejected
+        String token = TestTokens.validUserToken();
+        invalidTokenGuard.recordRejected(VerifiedTokenCache.digest(token), TokenRejectionReason.BAD_SIGNATURE, null);
+
+        // When
+        TokenIntrospectionDto result = introspectionService.introspect(token);
+
+        // Then
+        assertThat(result.isActive()).isFalse();
+        assertThat(result.getReason()).isEqualTo("BAD_SIGNATURE");
+    }
+}
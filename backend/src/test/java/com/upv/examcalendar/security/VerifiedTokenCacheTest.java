@@ -0,0 +1,67 @@
+package com.upv.examcalendar.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache tokenCache;
+    private SupabaseJwtUtil jwtUtil;
+    private SupabaseUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new VerifiedTokenCache(meterRegistry, 100, 300);
+        jwtUtil = TestTokens.newJwtUtil();
+        userDetailsService = new SupabaseUserDetailsService(jwtUtil);
+    }
+
+    @Test
+    @DisplayName("Should return cached user details for a repeated token")
+    void cacheHit() {
+        // Given
+        String token = TestTokens.validUserToken();
+        VerifiedToken verified = jwtUtil.verifyToken(token);
+        SupabaseUserDetails user = userDetailsService.loadUserByVerifiedToken(verified);
+
+        // When
+        tokenCache.put(verified, user);
+
+        // Then
+        assertThat(tokenCache.get(token)).isSameAs(user);
+        assertThat(tokenCache.get(TestTokens.token("user-2", "authenticated", 60_000))).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should never return an entry past the token exp claim")
+    void entryExpiresWithToken() throws InterruptedException {
+        // Given
+        String token = TestTokens.token("user-1", "authenticated", 2_000);
+        VerifiedToken verified = jwtUtil.verifyToken(token);
+        tokenCache.put(verified, userDetailsService.loadUserByVerifiedToken(verified));
+        assertThat(tokenCache.get(token)).isNotNull();
+
+        // When
+        Thread.sleep(2_100);
+
+        // Then
+        assertThat(tokenCache.get(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should key entries by digest rather than the raw token")
+    void digestIsStable() {
+        String token = TestTokens.validUserToken();
+        assertThat(VerifiedTokenCache.digest(token)).isEqualTo(VerifiedTokenCache.digest(token))
+                .doesNotContain(token);
+    }
+}
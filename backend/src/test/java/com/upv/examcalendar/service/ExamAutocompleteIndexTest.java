@@ -0,0 +1,50 @@
+package com.upv.examcalendar.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExamAutocompleteIndex Tests")
+class ExamAutocompleteIndexTest {
+
+    private static final long NOW = 1_000L;
+
+    // Rows: two exams of Bases de Datos (one past, one upcoming), one of Estructuras de Datos, one of Redes
+    private final ExamAutocompleteIndex index = new ExamAutocompleteIndex(
+            new String[] { "Bases de Datos", "Bases de Datos", "Estructuras de Datos", "Redes" },
+            new String[] { "BDA", null, "EDA", "RED" },
+            new String[] { "11546", "11546", "11547", null },
+            new long[] { 500L, 3_000L, 2_000L, ExamSnapshot.NO_DATE });
+
+    @Test
+    @DisplayName("Should match subject, word, acronym and code prefixes")
+    void prefixes() {
+        assertThat(subjects(index.complete("bas", NOW, 10))).containsExactly("Bases de Datos");
+        assertThat(subjects(index.complete("datos", NOW, 10)))
+                .containsExactly("Estructuras de Datos", "Bases de Datos");
+        assertThat(subjects(index.complete("red", NOW, 10))).containsExactly("Redes");
+        assertThat(subjects(index.complete("1154", NOW, 10)))
+                .containsExactly("Estructuras de Datos", "Bases de Datos");
+        assertThat(index.complete("xyz", NOW, 10)).isEmpty();
+        assertThat(index.complete("", NOW, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should rank by next upcoming exam and honour the limit")
+    void ranking() {
+        // Estructuras (next exam at 2000) before Bases (next exam at 3000; its 500 exam is past)
+        assertThat(subjects(index.complete("d", NOW, 10))).containsExactly("Estructuras de Datos", "Bases de Datos");
+        assertThat(subjects(index.complete("d", NOW, 1))).containsExactly("Estructuras de Datos");
+        assertThat(index.nextDate(0, NOW)).isEqualTo(3_000L);
+        assertThat(index.nextDate(0, 4_000L)).isEqualTo(ExamSnapshot.NO_DATE);
+    }
+
+    private List<String> subjects(int[] suggestions) {
+        return Arrays.stream(suggestions).mapToObj(index::subject).toList();
+    }
+}
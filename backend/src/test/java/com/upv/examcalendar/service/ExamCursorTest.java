@@ -0,0 +1,39 @@
+package com.upv.examcalendar.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExamCursor Tests")
+class ExamCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip direction, date and id through the opaque form")
+    void roundTrip() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2024, 6, 10, 9, 0);
+
+        // When
+        ExamCursor after = ExamCursor.decode(ExamCursor.after(date, 42L).encode());
+        ExamCursor undated = ExamCursor.decode(ExamCursor.before(null, 7L).encode());
+
+        // Then
+        assertThat(after.isAfter()).isTrue();
+        assertThat(after.getDateTime()).isEqualTo(date);
+        assertThat(after.getId()).isEqualTo(42L);
+        assertThat(undated.isAfter()).isFalse();
+        assertThat(undated.getDateTime()).isNull();
+        assertThat(undated.getDate()).isEqualTo(ExamSnapshot.NO_DATE);
+    }
+
+    @Test
+    @DisplayName("Should reject strings that are not cursors")
+    void invalid() {
+        assertThatThrownBy(() -> ExamCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ExamCursor.decode("AAAA")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.upv.examcalendar.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExamDateIndex Tests")
+class ExamDateIndexTest {
+
+    // Row positions 0..5; row 2 has no date
+    private final ExamDateIndex index = new ExamDateIndex(new long[] {
+            300L, 100L, ExamSnapshot.NO_DATE, 200L, 100L, 500L });
+
+    @Test
+    @DisplayName("Should skip undated rows and keep ties in row order")
+    void ordersByStart() {
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.from(Long.MIN_VALUE).toArray()).containsExactly(1, 4, 3, 0, 5);
+    }
+
+    @Test
+    @DisplayName("Should return inclusive ranges by binary search")
+    void between() {
+        assertThat(index.between(100L, 200L).toArray()).containsExactly(1, 4, 3);
+        assertThat(index.between(150L, 450L).toArray()).containsExactly(3, 0);
+        assertThat(index.between(600L, 700L).size()).isZero();
+        assertThat(index.between(300L, 100L).size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return upcoming and next-N rows")
+    void fromAndNext() {
+        assertThat(index.from(201L).toArray()).containsExactly(0, 5);
+        assertThat(index.next(100L, 2).toArray()).containsExactly(1, 4);
+        assertThat(index.next(400L, 10).toArray()).containsExactly(5);
+        assertThat(index.next(100L, 0).size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should slice views without leaving their bounds")
+    void slice() {
+        // Given
+        ExamDateIndex.RowView view = index.between(100L, 300L);
+
+        // When
+        ExamDateIndex.RowView slice = view.slice(1, 10);
+
+        // Then
+        assertThat(slice.toArray()).containsExactly(4, 3, 0);
+        assertThat(slice.rowId(0)).isEqualTo(4);
+        assertThat(view.slice(10, 2).size()).isZero();
+        assertThatThrownBy(() -> slice.rowId(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
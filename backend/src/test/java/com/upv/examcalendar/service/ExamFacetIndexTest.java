@@ -0,0 +1,76 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DisplayName("ExamFacetIndex Tests")
+class ExamFacetIndexTest {
+
+    private ExamFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ExamSnapshot snapshot = ExamSnapshot.of(List.of(
+                exam(1L, "GII", "1", "A", 10),
+                exam(2L, "GII", "1", "B", 11),
+                exam(3L, "GII", "2", "A", 12),
+                exam(4L, "GCD", "1", "A", 13),
+                exam(5L, "GCD", "2", "B", 14)));
+        index = snapshot.getFacets();
+    }
+
+    @Test
+    @DisplayName("Should page the intersection of the selected values in date order")
+    void pageSelection() {
+        // When
+        Page<ExamSnapshot.Row> page = index.page(
+                Map.of(ExamFacetIndex.Facet.YEAR, "1", ExamFacetIndex.Facet.SEMESTER, "A"), PageRequest.of(1, 1));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(ExamSnapshot.Row::getId).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should count each facet against the selection on the other facets")
+    void countsExcludeOwnFacet() {
+        // When
+        Map<ExamFacetIndex.Facet, Map<String, Integer>> counts = index.counts(
+                Map.of(ExamFacetIndex.Facet.DEGREE, "GII", ExamFacetIndex.Facet.YEAR, "1"));
+
+        // Then
+        assertThat(counts.get(ExamFacetIndex.Facet.DEGREE)).containsExactly(entry("GCD", 1), entry("GII", 2));
+        assertThat(counts.get(ExamFacetIndex.Facet.YEAR)).containsExactly(entry("1", 2), entry("2", 1));
+        assertThat(counts.get(ExamFacetIndex.Facet.SEMESTER)).containsExactly(entry("A", 1), entry("B", 1));
+        assertThat(counts.get(ExamFacetIndex.Facet.SCHOOL)).containsExactly(entry("ETSINF", 2));
+    }
+
+    @Test
+    @DisplayName("Should match nothing for an unknown value")
+    void unknownValue() {
+        assertThat(index.select(Map.of(ExamFacetIndex.Facet.DEGREE, "Unknown")).isEmpty()).isTrue();
+    }
+
+    private static Exam exam(Long id, String degree, String year, String semester, int day) {
+        Exam exam = new Exam();
+        exam.setId(id);
+        exam.setSubject("Subject " + id);
+        exam.setDegree(degree);
+        exam.setYear(year);
+        exam.setSemester(semester);
+        exam.setDate(LocalDateTime.of(2024, 6, day, 9, 0));
+        exam.setSchool("ETSINF");
+        return exam;
+    }
+}
@@ -0,0 +1,57 @@
+package com.upv.examcalendar.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExamFuzzyIndex Tests")
+class ExamFuzzyIndexTest {
+
+    private static final long NOW = 1_500L;
+
+    // Rows in date order; the first exam is already past
+    private static final String[] SUBJECTS = { "estructuras de datos", "concurrencia", "bases de datos",
+            "estructuras de datos" };
+    private static final long[] DATES = { 1_000L, 2_000L, 2_500L, 3_000L };
+
+    private final ExamFuzzyIndex index = index();
+
+    @Test
+    @DisplayName("Should find misspelt subjects within the allowed distance")
+    void typos() {
+        assertThat(index.search("Estructras de datos", NOW)).containsExactly(3, 0);
+        assertThat(index.search("Concurencia", NOW)).containsExactly(1);
+        assertThat(index.search("Informatca", NOW)).containsExactly(1, 2, 3, 0);
+        assertThat(index.search("xyzzy", NOW)).isEmpty();
+        assertThat(index.search("de", NOW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank by distance, then upcoming exams soonest first")
+    void ranking() {
+        // "datos" matches exactly; "basez" is one edit from the only row with both words
+        assertThat(index.search("datos", NOW)).containsExactly(2, 3, 0);
+        assertThat(index.search("basez datos", NOW)).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should bound edits by word length and stop early past the bound")
+    void distances() {
+        assertThat(ExamFuzzyIndex.maxEdits(3)).isZero();
+        assertThat(ExamFuzzyIndex.maxEdits(5)).isEqualTo(1);
+        assertThat(ExamFuzzyIndex.maxEdits(10)).isEqualTo(2);
+        assertThat(ExamFuzzyIndex.distance("kitten", "sitting", 5)).isEqualTo(3);
+        assertThat(ExamFuzzyIndex.distance("kitten", "sitting", 1)).isEqualTo(2);
+        assertThat(ExamFuzzyIndex.distance("abc", "abcdef", 1)).isEqualTo(2);
+    }
+
+    private static ExamFuzzyIndex index() {
+        StringDictionary degrees = StringDictionary.of(Arrays.asList("Ingeniería Informática"));
+        int[] degreeCodes = new int[SUBJECTS.length];
+        Arrays.fill(degreeCodes, degrees.code("Ingeniería Informática"));
+        return new ExamFuzzyIndex(SUBJECTS, degrees, degreeCodes, DATES);
+    }
+}
@@ -0,0 +1,61 @@
+package com.upv.examcalendar.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExamIntervalIndex Tests")
+class ExamIntervalIndexTest {
+
+    private static final long DAY = ExamSnapshot.encodeDate(LocalDateTime.of(2024, 6, 10, 0, 0));
+    private static final int NONE = ExamSnapshot.NO_DURATION;
+
+    // 0: 09:00-11:00, 1: 10:30-12:00, 2: 12:00-13:00, 3: all day, 4: undated, 5: two days from the 9th
+    private final ExamIntervalIndex index = new ExamIntervalIndex(
+            new long[] { DAY, DAY, DAY, DAY, ExamSnapshot.NO_DATE, DAY - ExamIntervalIndex.SECONDS_PER_DAY },
+            new String[] { "09:00", "10:30:00", "12:00", null, "09:00", null },
+            new int[] { 120, 90, 60, NONE, 60, NONE },
+            new String[] { null, null, null, null, null, "P2D" });
+
+    @Test
+    @DisplayName("Should derive spans from date, time, duration and day periods")
+    void spans() {
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.start(0)).isEqualTo(DAY + 9 * 3600);
+        assertThat(index.end(0)).isEqualTo(DAY + 11 * 3600);
+        assertThat(index.end(3)).isEqualTo(DAY + ExamIntervalIndex.SECONDS_PER_DAY);
+        assertThat(index.end(5)).isEqualTo(DAY + ExamIntervalIndex.SECONDS_PER_DAY);
+        assertThat(index.start(4)).isEqualTo(ExamSnapshot.NO_DATE);
+    }
+
+    @Test
+    @DisplayName("Should find overlaps with half-open intervals")
+    void overlapping() {
+        assertThat(index.overlapping(0)).containsExactly(5, 3, 1);
+        // 12:00 start touches 1's end but does not overlap it
+        assertThat(index.overlapping(2)).containsExactly(5, 3);
+        assertThat(index.overlapping(4)).isEmpty();
+        assertThat(index.overlapping(DAY + 86_400L, DAY + 90_000L)).isEmpty();
+        assertThat(index.overlapping(DAY + 11 * 3600, DAY + 11 * 3600)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should pair overlaps among the given rows only, in start order")
+    void overlappingPairs() {
+        assertThat(index.overlappingPairs(new int[] { 0, 1, 2, 4 })).containsExactly(new int[] { 0, 1 });
+        assertThat(index.overlappingPairs(new int[] { 2, 0, 3 }))
+                .containsExactly(new int[] { 3, 0 }, new int[] { 3, 2 });
+        assertThat(index.overlappingPairs(new int[] { 4 })).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed times and periods")
+    void malformedInput() {
+        assertThat(ExamIntervalIndex.parseTime("9h")).isEqualTo(-1);
+        assertThat(ExamIntervalIndex.parseDays("two days")).isZero();
+        assertThat(ExamIntervalIndex.parseDays("P3D")).isEqualTo(3);
+    }
+}
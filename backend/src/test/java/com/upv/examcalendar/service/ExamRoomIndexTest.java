@@ -0,0 +1,75 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExamRoomIndex Tests")
+class ExamRoomIndexTest {
+
+    private ExamSnapshot snapshot;
+    private ExamRoomIndex index;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = ExamSnapshot.of(List.of(
+                exam(1L, "1G 0.1", "09:00", 180),
+                exam(2L, "1G 0.1", "11:00", 60),
+                exam(3L, "1G 0.1", "15:00", 60),
+                exam(4L, "1G 0.2", "10:00", 60),
+                exam(5L, null, "10:00", 60)));
+        index = snapshot.getRoomTimelines();
+    }
+
+    @Test
+    @DisplayName("Should list a room's exams overlapping a window")
+    void occupancy() {
+        assertThat(ids(index.occupancy("1G 0.1", at(0), at(24)))).containsExactly(1L, 2L, 3L);
+        // 1 runs until 12:00, so it is still in the room at 11:30
+        assertThat(ids(index.occupancy("1G 0.1", at(11) + 1800, at(12) + 1800))).containsExactly(1L, 2L);
+        assertThat(index.occupancy("Aula Magna", at(0), at(24))).isEmpty();
+        assertThat(index.rooms()).containsExactly("1G 0.1", "1G 0.2");
+    }
+
+    @Test
+    @DisplayName("Should find rooms free for a whole slot")
+    void freeRooms() {
+        assertThat(index.freeRooms(at(10), at(11))).isEmpty();
+        assertThat(index.freeRooms(at(12), at(15))).containsExactly("1G 0.1", "1G 0.2");
+        assertThat(index.freeRooms(at(14), at(16))).containsExactly("1G 0.2");
+    }
+
+    @Test
+    @DisplayName("Should detect overlapping bookings in the same room")
+    void doubleBookings() {
+        assertThat(index.doubleBookings(Long.MIN_VALUE, Long.MAX_VALUE))
+                .extracting(pair -> snapshot.row(pair[0]).getId() + "-" + snapshot.row(pair[1]).getId())
+                .containsExactly("1-2");
+        assertThat(index.doubleBookings(at(13), at(24))).isEmpty();
+    }
+
+    private List<Long> ids(int[] positions) {
+        return snapshot.rows(positions).stream().map(ExamSnapshot.Row::getId).toList();
+    }
+
+    private static long at(int hour) {
+        return ExamSnapshot.encodeDate(LocalDateTime.of(2024, 6, 10, 0, 0)) + hour * 3600L;
+    }
+
+    private static Exam exam(Long id, String room, String time, Integer minutes) {
+        Exam exam = new Exam();
+        exam.setId(id);
+        exam.setSubject("Subject " + id);
+        exam.setRoom(room);
+        exam.setDate(LocalDateTime.of(2024, 6, 10, 0, 0));
+        exam.setExamTime(time);
+        exam.setDurationMinutes(minutes);
+        return exam;
+    }
+}
@@ -0,0 +1,115 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.dto.ExamSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExamSearchCache Tests")
+class ExamSearchCacheTest {
+
+    private static final ExamSearchStrategy IN_MEMORY = ExamSearchStrategy.IN_MEMORY;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExamSearchCache cache = new ExamSearchCache(meterRegistry, 100, 60, 10);
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should normalise case, accents, spacing and word order for the snapshot")
+    void normalize() {
+        assertThat(ExamSearchCache.normalize(IN_MEMORY, " Redes  de Computadores")).isEqualTo("computadores de redes");
+        assertThat(ExamSearchCache.normalize(IN_MEMORY, "REDES")).isEqualTo(ExamSearchCache.normalize(IN_MEMORY, "redes "));
+        assertThat(ExamSearchCache.normalize(IN_MEMORY, "Estadística")).isEqualTo("estadistica");
+    }
+
+    @Test
+    @DisplayName("Should keep word order for database strategies and accents for LIKE")
+    void normalizeByStrategy() {
+        assertThat(ExamSearchCache.normalize(ExamSearchStrategy.TRIGRAM, "Redes  Computadores"))
+                .isEqualTo("redes computadores");
+        assertThat(ExamSearchCache.normalize(ExamSearchStrategy.FULL_TEXT, "Información")).isEqualTo("informacion");
+        assertThat(ExamSearchCache.normalize(ExamSearchStrategy.LIKE, "Información")).isEqualTo("información");
+    }
+
+    @Test
+    @DisplayName("Should not share LIKE entries between word orders")
+    void likeWordOrder() {
+        // Given
+        Pageable first = PageRequest.of(0, 10);
+
+        // When
+        cache.get("search", ExamSearchStrategy.LIKE, "redes computadores", first, 0, this::empty);
+        Page<ExamSummaryDto> reordered = search(ExamSearchStrategy.LIKE, "search", "computadores redes", first, 0);
+
+        // Then
+        assertThat(searches).hasValue(2);
+        assertThat(reordered.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should share entries between equivalent queries but not pages, modes or versions")
+    void keys() {
+        // Given
+        Pageable first = PageRequest.of(0, 10);
+
+        // When
+        search("search", "Redes", first, 0);
+        search("search", "redes ", first, 0);
+        search("search", "REDES", PageRequest.of(1, 10), 0);
+        search("fuzzy", "redes", first, 0);
+        search("search", "redes", first, 1);
+        search(ExamSearchStrategy.TRIGRAM, "search", "redes", first, 0);
+
+        // Then
+        assertThat(searches).hasValue(5);
+        assertThat(cache.hitRatio()).isEqualTo(1.0 / 6);
+        assertThat(meterRegistry.get("exams.search.cache.hit.ratio").gauge().value()).isEqualTo(1.0 / 6);
+    }
+
+    @Test
+    @DisplayName("Should cache zero-hit queries for every page")
+    void negative() {
+        // When
+        Page<ExamSummaryDto> miss = cache.get("search", IN_MEMORY, "xyz", PageRequest.of(0, 10), 0, this::empty);
+        Page<ExamSummaryDto> otherPage = cache.get("search", IN_MEMORY, "XYZ", PageRequest.of(3, 10), 0, this::empty);
+
+        // Then
+        assertThat(searches).hasValue(1);
+        assertThat(miss.getTotalElements()).isZero();
+        assertThat(otherPage.getContent()).isEmpty();
+        assertThat(otherPage.getNumber()).isEqualTo(3);
+
+        // When
+        cache.invalidateAll();
+        cache.get("search", IN_MEMORY, "xyz", PageRequest.of(0, 10), 0, this::empty);
+
+        // Then
+        assertThat(searches).hasValue(2);
+    }
+
+    private Page<ExamSummaryDto> search(String mode, String query, Pageable pageable, long version) {
+        return search(IN_MEMORY, mode, query, pageable, version);
+    }
+
+    private Page<ExamSummaryDto> search(ExamSearchStrategy strategy, String mode, String query, Pageable pageable,
+            long version) {
+        return cache.get(mode, strategy, query, pageable, version, () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of(new ExamSummaryDto(1L, "Redes", "GII", null, null)), pageable, 1);
+        });
+    }
+
+    private Page<ExamSummaryDto> empty() {
+        searches.incrementAndGet();
+        return Page.empty();
+    }
+}
@@ -0,0 +1,95 @@
+package com.upv.examcalendar.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ExamSearchStrategyService Tests")
+class ExamSearchStrategyServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ExamSnapshotService examSnapshotService;
+    private SimpleMeterRegistry meterRegistry;
+    private ExamSearchStrategyService strategyService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        examSnapshotService = mock(ExamSnapshotService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        strategyService = new ExamSearchStrategyService(jdbcTemplate, examSnapshotService, meterRegistry, 600);
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should pick full-text search when its column and index exist")
+    void fullText() {
+        // Given
+        indexExists("idx_etsinf_search_vector", true);
+
+        // When
+        strategyService.probe();
+
+        // Then
+        assertThat(strategyService.databaseStrategy()).isEqualTo(ExamSearchStrategy.FULL_TEXT);
+        assertThat(gauge(ExamSearchStrategy.FULL_TEXT)).isEqualTo(1.0);
+        assertThat(gauge(ExamSearchStrategy.LIKE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip strategies whose query fails or whose index is missing")
+    void fallsThrough() {
+        // Given
+        when(jdbcTemplate.queryForList(contains("search_vector")))
+                .thenThrow(new BadSqlGrammarException("probe", "SELECT", new SQLException("no column")));
+        indexExists("idx_etsinf_search_key_trgm", false);
+
+        // When
+        strategyService.probe();
+
+        // Then
+        assertThat(strategyService.databaseStrategy()).isEqualTo(ExamSearchStrategy.LIKE);
+    }
+
+    @Test
+    @DisplayName("Should report in-memory while a snapshot is loaded and demote failed strategies")
+    void currentAndDemotion() {
+        // Given
+        indexExists("idx_etsinf_search_key_trgm", true);
+        strategyService.probe();
+        when(examSnapshotService.getSnapshot()).thenReturn(ExamSnapshot.of(List.of()));
+
+        // Then
+        assertThat(strategyService.databaseStrategy()).isEqualTo(ExamSearchStrategy.TRIGRAM);
+        assertThat(strategyService.current()).isEqualTo(ExamSearchStrategy.IN_MEMORY);
+        assertThat(gauge(ExamSearchStrategy.IN_MEMORY)).isEqualTo(1.0);
+
+        // When
+        strategyService.markUnavailable(ExamSearchStrategy.FULL_TEXT);
+        strategyService.markUnavailable(ExamSearchStrategy.TRIGRAM);
+
+        // Then
+        assertThat(strategyService.databaseStrategy()).isEqualTo(ExamSearchStrategy.LIKE);
+    }
+
+    private void indexExists(String index, boolean exists) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("public." + index))).thenReturn(exists);
+    }
+
+    private double gauge(ExamSearchStrategy strategy) {
+        return meterRegistry.get("exams.search.strategy").tag("strategy", strategy.name().toLowerCase()).gauge().value();
+    }
+}
@@ -1,21 +1,28 @@
 package com.upv.examcalendar.service;
 
+import com.upv.examcalendar.dto.CursorPageDto;
+import com.upv.examcalendar.dto.ExamClashesDto;
 import com.upv.examcalendar.dto.ExamDto;
 import com.upv.examcalendar.dto.ExamProjection;
+import com.upv.examcalendar.dto.ExamSearchHitProjection;
 import com.upv.examcalendar.dto.ExamSummaryDto;
 import com.upv.examcalendar.model.Exam;
 import com.upv.examcalendar.repository.ExamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -34,6 +41,15 @@ class ExamServiceTest {
     @Mock
     private ExamRepository examRepository;
 
+    @Mock
+    private ExamSnapshotService examSnapshotService;
+
+    @Mock
+    private ExamSearchStrategyService searchStrategyService;
+
+    @Spy
+    private ExamSearchCache searchCache = new ExamSearchCache(new SimpleMeterRegistry(), 100, 60, 10);
+
     @InjectMocks
     private ExamService examService;
 
@@ -268,6 +284,7 @@ class ExamServiceTest {
         when(projection.getRoom()).thenReturn("A-101");
 
         Page<ExamProjection> projectionPage = new PageImpl<>(Arrays.asList(projection), pageable, 1);
+        when(searchStrategyService.databaseStrategy()).thenReturn(ExamSearchStrategy.FULL_TEXT);
         when(examRepository.searchExamsOptimized("algorithms", pageable)).thenReturn(projectionPage);
 
         // When
@@ -282,7 +299,29 @@ class ExamServiceTest {
     }
 
     @Test
-    @DisplayName("Should fallback to LIKE search when full-text search fails")
+    @DisplayName("Should return ranked full-text hits with highlighted snippets")
+    void searchExamsHighlighted() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        ExamSearchHitProjection hit = mock(ExamSearchHitProjection.class);
+        when(hit.getId()).thenReturn(1L);
+        when(hit.getSubject()).thenReturn("Redes de Computadores");
+        when(hit.getHeadline()).thenReturn("<mark>Redes</mark> de Computadores - GII");
+        when(searchStrategyService.databaseStrategy()).thenReturn(ExamSearchStrategy.FULL_TEXT);
+        when(examRepository.searchExamsHighlighted("redes", pageable))
+                .thenReturn(new PageImpl<>(List.of(hit), pageable, 1));
+
+        // When
+        Page<ExamSummaryDto> result = examService.searchExamsHighlighted("redes", pageable);
+
+        // Then
+        assertThat(result.getContent()).extracting(ExamSummaryDto::getHighlight)
+                .containsExactly("<mark>Redes</mark> de Computadores - GII");
+        verify(examRepository, never()).searchExamsOptimized(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to LIKE search and demote the strategy when its query fails")
     void searchExamsFallback() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
@@ -294,6 +333,7 @@ class ExamServiceTest {
         when(projection.getRoom()).thenReturn("A-101");
 
         Page<ExamProjection> projectionPage = new PageImpl<>(Arrays.asList(projection), pageable, 1);
+        when(searchStrategyService.databaseStrategy()).thenReturn(ExamSearchStrategy.FULL_TEXT);
         when(examRepository.searchExamsOptimized("algorithms", pageable)).thenThrow(new RuntimeException("Full-text search failed"));
         when(examRepository.searchExams("algorithms", pageable)).thenReturn(projectionPage);
 
@@ -303,10 +343,92 @@ class ExamServiceTest {
         // Then
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getTotalElements()).isEqualTo(1);
-        verify(examRepository).searchExamsOptimized("algorithms", pageable);
+        verify(searchStrategyService).markUnavailable(ExamSearchStrategy.FULL_TEXT);
+        verify(examRepository, never()).searchBySearchKey(anyString(), any(Pageable.class));
         verify(examRepository).searchExams("algorithms", pageable);
     }
 
+    @Test
+    @DisplayName("Should answer equivalent queries from one cached page until the snapshot changes")
+    void searchExamsCached() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        ExamProjection projection = mock(ExamProjection.class);
+        when(projection.getId()).thenReturn(1L);
+        when(searchStrategyService.databaseStrategy()).thenReturn(ExamSearchStrategy.FULL_TEXT);
+        when(examRepository.searchExamsOptimized(anyString(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(projection), pageable, 1));
+
+        // When
+        examService.searchExams("Redes Computadores", pageable);
+        examService.searchExams("  REDES  computadores ", pageable);
+        when(examSnapshotService.getVersion()).thenReturn(1L);
+        examService.searchExams("redes computadores", pageable);
+
+        // Then
+        verify(examRepository, times(2)).searchExamsOptimized(anyString(), eq(pageable));
+    }
+
+    @Test
+    @DisplayName("Should walk keyset slices forward and back with opaque cursors")
+    void scrollAllExams() {
+        // Given
+        Exam first = clashExam(1L, "A", null, LocalDateTime.of(2024, 6, 10, 9, 0), null, null);
+        Exam second = clashExam(2L, "B", null, LocalDateTime.of(2024, 6, 11, 9, 0), null, null);
+        Exam third = clashExam(3L, "C", null, LocalDateTime.of(2024, 6, 12, 9, 0), null, null);
+        when(examSnapshotService.getSnapshot()).thenReturn(ExamSnapshot.of(List.of(third, first, second)));
+
+        // When
+        CursorPageDto<ExamSummaryDto> start = examService.scrollAllExams(null, 2);
+        CursorPageDto<ExamSummaryDto> end = examService.scrollAllExams(ExamCursor.decode(start.getNext()), 2);
+        CursorPageDto<ExamSummaryDto> back = examService.scrollAllExams(ExamCursor.decode(end.getPrev()), 2);
+
+        // Then
+        assertThat(start.getItems()).extracting(ExamSummaryDto::getId).containsExactly(1L, 2L);
+        assertThat(start.getPrev()).isNull();
+        assertThat(end.getItems()).extracting(ExamSummaryDto::getId).containsExactly(3L);
+        assertThat(end.getNext()).isNull();
+        assertThat(back.getItems()).extracting(ExamSummaryDto::getId).containsExactly(1L, 2L);
+        assertThat(back.getPrev()).isNull();
+        assertThat(back.getNext()).isEqualTo(start.getNext());
+        verifyNoInteractions(examRepository);
+    }
+
+    @Test
+    @DisplayName("Should retry a folded database scroll with LIKE when f_unaccent has gone")
+    void scrollSearchFoldedFallback() {
+        // Given
+        when(searchStrategyService.databaseStrategy()).thenReturn(ExamSearchStrategy.TRIGRAM);
+        doThrow(new InvalidDataAccessResourceUsageException("function public.f_unaccent does not exist"))
+                .doReturn(List.of())
+                .when(examRepository).findBy(any(Specification.class), any());
+
+        // When
+        CursorPageDto<ExamSummaryDto> result = examService.scrollSearch("Álgebra", null, 10);
+
+        // Then
+        assertThat(result.getItems()).isEmpty();
+        verify(examRepository, times(2)).findBy(any(Specification.class), any());
+        verify(searchStrategyService).markUnavailable(ExamSearchStrategy.TRIGRAM);
+    }
+
+    @Test
+    @DisplayName("Should go straight to the probed strategy without trying better ones")
+    void searchExamsProbedStrategy() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(searchStrategyService.databaseStrategy()).thenReturn(ExamSearchStrategy.TRIGRAM);
+        when(examRepository.searchBySearchKey("algebra", pageable)).thenReturn(Page.empty(pageable));
+
+        // When
+        examService.searchExams("Álgebra", pageable);
+
+        // Then
+        verify(examRepository).searchBySearchKey("algebra", pageable);
+        verify(examRepository, never()).searchExamsOptimized(anyString(), any(Pageable.class));
+        verify(searchStrategyService, never()).markUnavailable(any());
+    }
+
     @Test
     @DisplayName("Should retrieve exams by date range")
     void getExamsByDateRange() {
@@ -551,4 +673,84 @@ class ExamServiceTest {
             exam.getSchool().equals("Test School")
         ));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve reads from the snapshot without touching the repository")
+    void readsFromSnapshot() {
+        // Given
+        Exam laterExam = new Exam();
+        laterExam.setId(2L);
+        laterExam.setSubject("Databases");
+        laterExam.setDegree("Computer Science");
+        laterExam.setYear("2");
+        laterExam.setSemester("B");
+        laterExam.setDate(LocalDateTime.of(2024, 6, 20, 9, 0));
+        when(examSnapshotService.getSnapshot()).thenReturn(ExamSnapshot.of(Arrays.asList(laterExam, sampleExam)));
+
+        // When
+        Page<ExamSummaryDto> result = examService.getExamsByDegree("Computer Science", PageRequest.of(0, 1));
+        Optional<ExamDto> byId = examService.getExamById(2L);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(ExamSummaryDto::getId).containsExactly(1L);
+        assertThat(byId).map(ExamDto::getSubject).contains("Databases");
+        verifyNoInteractions(examRepository);
+    }
+
+    @Test
+    @DisplayName("Should report overlapping exams and same-day groups for selected subjects")
+    void getClashes() {
+        // Given
+        Exam networks = clashExam(2L, "Networks", "RED", LocalDateTime.of(2024, 6, 10, 0, 0), "10:00", 120);
+        Exam compilers = clashExam(3L, "Compilers", "CMP", LocalDateTime.of(2024, 6, 10, 0, 0), "11:00", 60);
+        Exam compilersOtherDegree = clashExam(4L, "Compilers", "CMP", LocalDateTime.of(2024, 6, 10, 0, 0),
+                "11:00", 60);
+        Exam statistics = clashExam(5L, "Statistics", "EST", LocalDateTime.of(2024, 6, 10, 0, 0), "16:00", 60);
+        when(examSnapshotService.getSnapshot()).thenReturn(
+                ExamSnapshot.of(Arrays.asList(networks, compilers, compilersOtherDegree, statistics, sampleExam)));
+
+        // When
+        ExamClashesDto result = examService.getClashes(List.of("networks"), List.of("cmp", "EST"));
+
+        // Then
+        assertThat(result.getOverlaps())
+                .extracting(overlap -> overlap.getFirst().getId() + "-" + overlap.getSecond().getId())
+                .containsExactly("2-3", "2-4");
+        assertThat(result.getSameDay()).hasSize(1);
+        assertThat(result.getSameDay().get(0).getDate()).isEqualTo("2024-06-10");
+        assertThat(result.getSameDay().get(0).getExams()).extracting(ExamDto::getId).containsExactly(2L, 3L, 4L, 5L);
+        verifyNoInteractions(examRepository);
+    }
+
+    @Test
+    @DisplayName("Should refuse index-only queries before the snapshot loads instead of indexing the table")
+    void indexOnlyWithoutSnapshot() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(searchStrategyService.databaseStrategy()).thenReturn(ExamSearchStrategy.LIKE);
+        when(examRepository.searchExams("algoritms", pageable)).thenReturn(Page.empty(pageable));
+
+        // When / Then
+        assertThatThrownBy(() -> examService.getSuggestions("alg", 5))
+                .isInstanceOf(ExamSnapshotUnavailableException.class);
+        assertThatThrownBy(() -> examService.getClashes(List.of("Networks"), List.of()))
+                .isInstanceOf(ExamSnapshotUnavailableException.class);
+        examService.searchExamsFuzzy("algoritms", pageable);
+        verify(examRepository, never()).findAll();
+        verify(examRepository).searchExams("algoritms", pageable);
+    }
+
+    private static Exam clashExam(Long id, String subject, String acronym, LocalDateTime date, String time,
+            Integer minutes) {
+        Exam exam = new Exam();
+        exam.setId(id);
+        exam.setSubject(subject);
+        exam.setAcronym(acronym);
+        exam.setDegree("Computer Science");
+        exam.setDate(date);
+        exam.setExamTime(time);
+        exam.setDurationMinutes(minutes);
+        return exam;
+    }
+}
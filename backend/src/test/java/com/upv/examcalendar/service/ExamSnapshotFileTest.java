@@ -0,0 +1,101 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExamSnapshotFile Tests")
+class ExamSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should round-trip every column and the load time")
+    void roundTrip() throws IOException {
+        // Given
+        ExamSnapshot snapshot = ExamSnapshot.of(List.of(
+                exam(1L, "Álgebra", LocalDateTime.of(2024, 6, 10, 9, 0)),
+                exam(2L, "Estadística", null)));
+        Path file = directory.resolve("nested/exams.bin");
+
+        // When
+        ExamSnapshotFile.write(snapshot, file);
+        ExamSnapshot loaded = ExamSnapshotFile.read(file);
+
+        // Then
+        assertThat(loaded.size()).isEqualTo(2);
+        assertThat(loaded.getLoadedAt()).isEqualTo(snapshot.getLoadedAt().truncatedTo(ChronoUnit.MILLIS));
+        ExamSnapshot.Row row = loaded.findById(1L);
+        assertThat(row.getSubject()).isEqualTo("Álgebra");
+        assertThat(row.getDate()).isEqualTo(LocalDateTime.of(2024, 6, 10, 9, 0));
+        assertThat(row.getExamTime()).isEqualTo("09:00");
+        assertThat(row.getDurationMinutes()).isEqualTo(120);
+        assertThat(row.getDurationDay()).isEqualTo("P1D");
+        assertThat(row.getComment()).isNull();
+        assertThat(loaded.findById(2L).getDate()).isNull();
+        assertThat(loaded.findById(2L).getDurationMinutes()).isNull();
+        assertThat(loaded.getDegrees()).containsExactly("GII");
+        try (var files = Files.list(file.getParent())) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject corrupt files and other format versions")
+    void rejectsInvalidFiles() throws IOException {
+        // Given
+        Path file = directory.resolve("exams.bin");
+        ExamSnapshotFile.write(ExamSnapshot.of(List.of(exam(1L, "Redes", null))), file);
+        byte[] valid = Files.readAllBytes(file);
+
+        // When a payload byte flips
+        byte[] corrupt = valid.clone();
+        corrupt[corrupt.length - 1] ^= 1;
+        Files.write(file, corrupt);
+
+        // Then
+        assertThatThrownBy(() -> ExamSnapshotFile.read(file)).hasMessageContaining("checksum");
+
+        // When the version changes
+        byte[] future = valid.clone();
+        ByteBuffer.wrap(future).putInt(4, ExamSnapshotFile.FORMAT_VERSION + 1);
+        Files.write(file, future);
+
+        // Then
+        assertThatThrownBy(() -> ExamSnapshotFile.read(file)).hasMessageContaining("version");
+
+        // When the file is cut short
+        Files.write(file, Arrays.copyOf(valid, valid.length - 3));
+
+        // Then
+        assertThatThrownBy(() -> ExamSnapshotFile.read(file)).hasMessageContaining("truncated");
+    }
+
+    private static Exam exam(Long id, String subject, LocalDateTime date) {
+        Exam exam = new Exam();
+        exam.setId(id);
+        exam.setSubject(subject);
+        exam.setDegree("GII");
+        exam.setDate(date);
+        if (date != null) {
+            exam.setExamTime("09:00");
+            exam.setDurationMinutes(120);
+            exam.setDurationDay("P1D");
+        }
+        return exam;
+    }
+}
@@ -0,0 +1,115 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+import com.upv.examcalendar.repository.ExamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ExamSnapshotService Tests")
+class ExamSnapshotServiceTest {
+
+    private ExamRepository examRepository;
+    private ExamSearchCache searchCache;
+    private ExamSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        examRepository = mock(ExamRepository.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        searchCache = spy(new ExamSearchCache(meterRegistry, 100, 60, 10));
+        snapshotService = new ExamSnapshotService(examRepository, searchCache, meterRegistry, true, 300, 256, "");
+    }
+
+    @Test
+    @DisplayName("Should apply a committed write in memory without reloading the table")
+    void applyWithoutReload() {
+        // Given
+        when(examRepository.findAll()).thenReturn(List.of(exam(1L), exam(2L)));
+        snapshotService.refresh();
+        ExamSnapshot loaded = snapshotService.getSnapshot();
+        long loadedVersion = snapshotService.getVersion();
+
+        // When
+        snapshotService.applyAfterCommit(ExamDelta.upsert(exam(3L)));
+        snapshotService.applyAfterCommit(ExamDelta.delete(1L));
+
+        // Then
+        ExamSnapshot current = snapshotService.getSnapshot();
+        assertThat(current.size()).isEqualTo(2);
+        assertThat(current.findById(1L)).isNull();
+        assertThat(current.findById(3L).getSubject()).isEqualTo("Subject 3");
+        assertThat(loaded.findById(1L)).isNotNull();
+        assertThat(snapshotService.getVersion()).isGreaterThan(loadedVersion);
+        verify(searchCache, times(2)).invalidateAll();
+        verify(examRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should replay writes applied while a reload was querying the table")
+    void replayDuringReload() {
+        // Given: exam 2 is committed after the reload's query has read the table
+        when(examRepository.findAll()).thenReturn(List.of(exam(1L)));
+        snapshotService.refresh();
+        when(examRepository.findAll()).thenAnswer(invocation -> {
+            snapshotService.applyAfterCommit(ExamDelta.upsert(exam(2L)));
+            return List.of(exam(1L));
+        });
+
+        // When
+        snapshotService.refresh();
+
+        // Then
+        assertThat(snapshotService.getSnapshot().findById(2L)).isNotNull();
+        assertThat(snapshotService.getSnapshot().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should compact written rows from memory")
+    void compact() {
+        // Given
+        when(examRepository.findAll()).thenReturn(List.of(exam(1L)));
+        snapshotService.refresh();
+        snapshotService.applyAfterCommit(ExamDelta.upsert(exam(2L)));
+
+        // When
+        snapshotService.compact();
+
+        // Then
+        assertThat(snapshotService.getSnapshot().pendingRows()).isZero();
+        assertThat(snapshotService.getSnapshot().size()).isEqualTo(2);
+        verify(examRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should change the version on writes when no snapshot is loaded")
+    void versionWithoutSnapshot() {
+        // Given
+        long before = snapshotService.getVersion();
+
+        // When
+        snapshotService.applyAfterCommit(ExamDelta.delete(1L));
+
+        // Then
+        assertThat(snapshotService.getSnapshot()).isNull();
+        assertThat(snapshotService.getVersion()).isGreaterThan(before);
+        verify(searchCache).invalidateAll();
+    }
+
+    private static Exam exam(Long id) {
+        Exam exam = new Exam();
+        exam.setId(id);
+        exam.setSubject("Subject " + id);
+        return exam;
+    }
+}
@@ -0,0 +1,297 @@
+package com.upv.examcalendar.service;
+
+import com.upv.examcalendar.model.Exam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExamSnapshot Tests")
+class ExamSnapshotTest {
+
+    private ExamSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = ExamSnapshot.of(List.of(
+                exam(3L, "Redes de Computadores", "GII", "3", "A", LocalDateTime.of(2024, 6, 12, 9, 0)),
+                exam(1L, "Algoritmia", "GII", "2", "A", LocalDateTime.of(2024, 6, 10, 9, 0)),
+                exam(2L, "Bases de Datos", "GCD", "2", "B", LocalDateTime.of(2024, 6, 10, 9, 0)),
+                exam(4L, "Estadistica", "GCD", "1", "A", null)));
+    }
+
+    @Test
+    @DisplayName("Should order by date then id, with undated exams last")
+    void dateOrder() {
+        assertThat(ids(snapshot.findAll())).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should page filtered results with a stable total")
+    void pageByDegree() {
+        // When
+        Page<ExamSnapshot.Row> first = snapshot.page(snapshot.findByDegree("GII"), PageRequest.of(0, 1));
+        Page<ExamSnapshot.Row> second = snapshot.page(snapshot.findByDegree("GII"), PageRequest.of(1, 1));
+        Page<ExamSnapshot.Row> beyond = snapshot.page(snapshot.findByDegree("GII"), PageRequest.of(5, 1));
+
+        // Then
+        assertThat(first.getContent()).extracting(ExamSnapshot.Row::getId).containsExactly(1L);
+        assertThat(second.getContent()).extracting(ExamSnapshot.Row::getId).containsExactly(3L);
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(first.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should honour the requested sort and reject unknown properties")
+    void pageAllSorted() {
+        // When
+        Page<ExamSnapshot.Row> bySubjectDesc = snapshot.pageAll(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "subject")));
+        Page<ExamSnapshot.Row> unknown = snapshot.pageAll(PageRequest.of(0, 10, Sort.by("nonexistent")));
+
+        // Then
+        assertThat(bySubjectDesc.getContent()).extracting(ExamSnapshot.Row::getId).containsExactly(3L, 4L, 2L, 1L);
+        assertThat(unknown).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer criteria, search and date queries like the repository")
+    void queries() {
+        assertThat(ids(snapshot.findByCriteria(null, "2", null))).containsExactly(1L, 2L);
+        assertThat(ids(snapshot.findByCriteria("GCD", null, "A"))).containsExactly(4L);
+        assertThat(ids(snapshot.findBySubjectContaining("DATOS"))).containsExactly(2L);
+        assertThat(ids(snapshot.search("gii redes"))).containsExactly(3L);
+        assertThat(ids(snapshot.findByDateBetween(
+                LocalDateTime.of(2024, 6, 10, 9, 0), LocalDateTime.of(2024, 6, 11, 0, 0)).toArray())).containsExactly(1L, 2L);
+        assertThat(ids(snapshot.findFrom(LocalDateTime.of(2024, 6, 11, 0, 0)).toArray())).containsExactly(3L);
+        assertThat(ids(snapshot.findNext(LocalDateTime.of(2024, 6, 1, 0, 0), 2).toArray())).containsExactly(1L, 2L);
+        assertThat(snapshot.getYears()).containsExactly("3", "2", "1");
+    }
+
+    @Test
+    @DisplayName("Should match regardless of accents, case and Spanish plural endings")
+    void foldedSearch() {
+        // Given
+        ExamSnapshot accented = ExamSnapshot.of(List.of(
+                exam(1L, "Álgebra Lineal", "GII", "1", "A", LocalDateTime.of(2024, 6, 10, 9, 0)),
+                exam(2L, "Estadística", "GCD", "1", "A", LocalDateTime.of(2024, 6, 11, 9, 0))));
+
+        // Then
+        assertThat(accented.findBySubjectContaining("ALGEBRA")).containsExactly(0);
+        assertThat(accented.search("estadistica gcd")).containsExactly(1);
+        assertThat(accented.search("estadísticas")).containsExactly(1);
+        assertThat(snapshot.search("computadora")).hasSize(1);
+        assertThat(accented.findBySubjectsOrAcronyms(List.of("algebra lineal"), List.of())).containsExactly(0);
+        assertThat(accented.fuzzySearch("Algbra", 0L)).containsExactly(0);
+    }
+
+    @Test
+    @DisplayName("Should match stems only at word starts, not inside unrelated words")
+    void stemsAtWordStarts() {
+        // Given
+        ExamSnapshot plurals = ExamSnapshot.of(List.of(
+                exam(1L, "Red de Sensores", "GII", "3", "A", LocalDateTime.of(2024, 6, 10, 9, 0)),
+                exam(2L, "Gestión de Créditos", "GII", "3", "A", LocalDateTime.of(2024, 6, 11, 9, 0)),
+                exam(3L, "Mandato Real", "GII", "3", "A", LocalDateTime.of(2024, 6, 12, 9, 0))));
+
+        // Then: "redes" stems to "red", which is inside "credit"; "datos" stems to "dat", inside "mandat"
+        assertThat(plurals.search("redes")).containsExactly(0);
+        assertThat(plurals.findBySubjectContaining("Redes")).containsExactly(0);
+        assertThat(plurals.search("datos")).isEmpty();
+        assertThat(plurals.search("sensor")).containsExactly(0);
+    }
+
+    @Test
+    @DisplayName("Should seek after and before a cursor row in date then id order")
+    void seek() {
+        // Given: rows 1, 2 (same date), 3, then undated 4
+        int[] all = snapshot.findAll();
+        ExamCursor afterFirst = ExamCursor.after(LocalDateTime.of(2024, 6, 10, 9, 0), 1L);
+        ExamCursor beforeUndated = ExamCursor.before(null, 4L);
+
+        // Then
+        assertThat(ids(snapshot.seek(all, null, 2))).containsExactly(1L, 2L);
+        assertThat(ids(snapshot.seek(all, afterFirst, 2))).containsExactly(2L, 3L);
+        assertThat(ids(snapshot.seek(all, ExamCursor.after(null, 4L), 2))).isEmpty();
+        assertThat(ids(snapshot.seek(all, beforeUndated, 2))).containsExactly(3L, 2L);
+        assertThat(ids(snapshot.seek(snapshot.findByDegree("GII"), beforeUndated, 5))).containsExactly(3L, 1L);
+    }
+
+    private List<Long> ids(int[] positions) {
+        return snapshot.rows(positions).stream().map(ExamSnapshot.Row::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should round-trip every column through the dictionary and date encodings")
+    void columnRoundTrip() {
+        // When
+        ExamSnapshot.Row row = snapshot.findById(3L);
+
+        // Then
+        assertThat(row.getSubject()).isEqualTo("Redes de Computadores");
+        assertThat(row.getDegree()).isEqualTo("GII");
+        assertThat(row.getYear()).isEqualTo("3");
+        assertThat(row.getSemester()).isEqualTo("A");
+        assertThat(row.getSchool()).isEqualTo("ETSINF");
+        assertThat(row.getDate()).isEqualTo(LocalDateTime.of(2024, 6, 12, 9, 0));
+        assertThat(row.getRoom()).isNull();
+        assertThat(row.getDurationMinutes()).isNull();
+        assertThat(snapshot.findById(4L).getDate()).isNull();
+        assertThat(snapshot.findById(99L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer like a full rebuild after writes, without changing the original")
+    void appliedWrites() {
+        // Given: a new exam, exam 3 moved to another degree and day, exam 1 deleted
+        Exam created = exam(5L, "Bases de Datos Avanzadas", "GII", "4", "B", LocalDateTime.of(2024, 6, 11, 9, 0));
+        Exam moved = exam(3L, "Redes de Computadores", "GCD", "3", "A", LocalDateTime.of(2024, 6, 9, 9, 0));
+
+        // When
+        ExamSnapshot written = snapshot
+                .apply(ExamDelta.upsert(created))
+                .apply(ExamDelta.upsert(moved))
+                .apply(ExamDelta.delete(1L));
+        ExamSnapshot rebuilt = ExamSnapshot.of(List.of(
+                moved,
+                exam(2L, "Bases de Datos", "GCD", "2", "B", LocalDateTime.of(2024, 6, 10, 9, 0)),
+                created,
+                exam(4L, "Estadistica", "GCD", "1", "A", null)));
+
+        // Then
+        assertThat(ids(written, written.findAll())).containsExactly(3L, 2L, 5L, 4L);
+        assertSameAnswers(written, rebuilt);
+        assertSameAnswers(written.compact(), rebuilt);
+        assertThat(written.findById(1L)).isNull();
+        assertThat(written.findById(3L).getDegree()).isEqualTo("GCD");
+        assertThat(written.getYears()).containsExactly("4", "3", "2", "1");
+        assertThat(written.pendingRows()).isEqualTo(4);
+        assertThat(written.compact().pendingRows()).isZero();
+        assertThat(ids(snapshot.findAll())).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should find clashes and room double bookings that involve written rows")
+    void appliedWritesInRooms() {
+        // Given: two exams in 1G 1.1 at different times, one in 1G 1.2
+        LocalDateTime day = LocalDateTime.of(2024, 6, 10, 0, 0);
+        ExamSnapshot rooms = ExamSnapshot.of(List.of(
+                roomExam(1L, "Redes", "1G 1.1", day, "09:00"),
+                roomExam(2L, "Compiladores", "1G 1.1", day, "12:00"),
+                roomExam(3L, "Estadistica", "1G 1.2", day, "09:00")));
+        Exam overlapping = roomExam(4L, "Algebra", "1G 1.1", day, "09:30");
+        Exam relocated = roomExam(3L, "Estadistica", "1G 1.3", day, "09:00");
+
+        // When
+        ExamSnapshot written = rooms.apply(ExamDelta.upsert(overlapping)).apply(ExamDelta.upsert(relocated));
+        ExamSnapshot rebuilt = ExamSnapshot.of(List.of(
+                roomExam(1L, "Redes", "1G 1.1", day, "09:00"),
+                roomExam(2L, "Compiladores", "1G 1.1", day, "12:00"),
+                relocated,
+                overlapping));
+
+        // Then
+        assertSameAnswers(written, rebuilt);
+        assertThat(pairs(written, written.doubleBookings(Long.MIN_VALUE, Long.MAX_VALUE))).containsExactly("1-4");
+        // 1G 1.2 lost its only exam, so it is no longer a known room
+        long lateMorning = ExamSnapshot.encodeDate(day.withHour(10).withMinute(30));
+        assertThat(written.freeRooms(lateMorning, lateMorning + 1_800)).containsExactly("1G 1.1", "1G 1.3");
+    }
+
+    // Compares every kind of query by exam ids
+    private static void assertSameAnswers(ExamSnapshot actual, ExamSnapshot expected) {
+        LocalDateTime from = LocalDateTime.of(2024, 6, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 6, 11, 23, 0);
+        long start = ExamSnapshot.encodeDate(from);
+        long end = ExamSnapshot.encodeDate(to);
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (String degree : List.of("GII", "GCD")) {
+            assertThat(ids(actual, actual.findByDegree(degree)))
+                    .isEqualTo(ids(expected, expected.findByDegree(degree)));
+        }
+        for (String term : List.of("datos", "redes", "gcd", "estadistica")) {
+            assertThat(ids(actual, actual.search(term))).isEqualTo(ids(expected, expected.search(term)));
+            assertThat(ids(actual, actual.findBySubjectContaining(term)))
+                    .isEqualTo(ids(expected, expected.findBySubjectContaining(term)));
+            assertThat(ids(actual, actual.fuzzySearch(term, start)))
+                    .isEqualTo(ids(expected, expected.fuzzySearch(term, start)));
+            assertThat(suggested(actual.suggest(term.substring(0, 3), start, 10)))
+                    .isEqualTo(suggested(expected.suggest(term.substring(0, 3), start, 10)));
+        }
+        assertThat(ids(actual, actual.findByCriteria(null, "2", null)))
+                .isEqualTo(ids(expected, expected.findByCriteria(null, "2", null)));
+        assertThat(ids(actual, actual.findByDateBetween(from, to).toArray()))
+                .isEqualTo(ids(expected, expected.findByDateBetween(from, to).toArray()));
+        assertThat(ids(actual, actual.findNext(from.minusDays(5), 2).toArray()))
+                .isEqualTo(ids(expected, expected.findNext(from.minusDays(5), 2).toArray()));
+        PageRequest sorted = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "degree", "subject"));
+        assertThat(actual.pageAll(sorted).getContent())
+                .extracting(ExamSnapshot.Row::getId)
+                .isEqualTo(expected.pageAll(sorted).getContent().stream().map(ExamSnapshot.Row::getId).toList());
+        assertThat(actual.getDegrees()).isEqualTo(expected.getDegrees());
+        assertThat(actual.getSemesters()).isEqualTo(expected.getSemesters());
+        Map<ExamFacetIndex.Facet, String> selection = Map.of(ExamFacetIndex.Facet.SEMESTER, "A");
+        assertThat(actual.facetCounts(selection)).isEqualTo(expected.facetCounts(selection));
+        assertThat(actual.facetPage(selection, PageRequest.of(0, 10)).getContent())
+                .extracting(ExamSnapshot.Row::getId)
+                .isEqualTo(expected.facetPage(selection, PageRequest.of(0, 10)).getContent().stream()
+                        .map(ExamSnapshot.Row::getId).toList());
+        assertThat(pairs(actual, actual.overlappingPairs(actual.findAll())))
+                .isEqualTo(pairs(expected, expected.overlappingPairs(expected.findAll())));
+        assertThat(pairs(actual, actual.doubleBookings(start, end)))
+                .isEqualTo(pairs(expected, expected.doubleBookings(start, end)));
+        assertThat(actual.freeRooms(start, start + 3_600)).isEqualTo(expected.freeRooms(start, start + 3_600));
+        for (String room : List.of("1G 1.1", "1G 1.2", "1G 1.3")) {
+            assertThat(ids(actual, actual.occupancy(room, start, end)))
+                    .isEqualTo(ids(expected, expected.occupancy(room, start, end)));
+        }
+    }
+
+    private static List<Long> ids(ExamSnapshot snapshot, int[] positions) {
+        return snapshot.rows(positions).stream().map(ExamSnapshot.Row::getId).toList();
+    }
+
+    private static List<String> pairs(ExamSnapshot snapshot, List<int[]> pairs) {
+        List<String> ids = new ArrayList<>();
+        for (int[] pair : pairs) {
+            ids.add(snapshot.row(pair[0]).getId() + "-" + snapshot.row(pair[1]).getId());
+        }
+        return ids;
+    }
+
+    private static List<String> suggested(List<ExamAutocompleteIndex.Suggestion> suggestions) {
+        return suggestions.stream()
+                .map(suggestion -> suggestion.getSubject() + "@" + suggestion.getNextDate()
+                        + "x" + suggestion.getExamCount())
+                .toList();
+    }
+
+    private static Exam roomExam(Long id, String subject, String room, LocalDateTime date, String time) {
+        Exam exam = exam(id, subject, "GII", "1", "A", date);
+        exam.setRoom(room);
+        exam.setExamTime(time);
+        exam.setDurationMinutes(60);
+        return exam;
+    }
+
+    private static Exam exam(Long id, String subject, String degree, String year, String semester,
+            LocalDateTime date) {
+        Exam exam = new Exam();
+        exam.setId(id);
+        exam.setSubject(subject);
+        exam.setDegree(degree);
+        exam.setYear(year);
+        exam.setSemester(semester);
+        exam.setDate(date);
+        exam.setSchool("ETSINF");
+        return exam;
+    }
+}
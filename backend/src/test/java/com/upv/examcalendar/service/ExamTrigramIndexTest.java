@@ -0,0 +1,70 @@
+package com.upv.examcalendar.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExamTrigramIndex Tests")
+class ExamTrigramIndexTest {
+
+    private final ExamTrigramIndex index = index(
+            new String[] { "bases de datos", "estructuras de datos", "abcxbcd", null },
+            new String[] { "bda", "eda", null, "red" },
+            new String[] { "gii", "gii", "gcd", "gcd" });
+
+    @Test
+    @DisplayName("Should find substrings by trigram intersection")
+    void substring() {
+        assertThat(index.containing("de datos", ExamTrigramIndex.Field.SUBJECT)).containsExactly(0, 1);
+        assertThat(index.containing("estructura", ExamTrigramIndex.Field.SUBJECT)).containsExactly(1);
+        assertThat(index.containing("grafos", ExamTrigramIndex.Field.SUBJECT)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject rows that share every gram but not the substring")
+    void verifiesCandidates() {
+        // "abcxbcd" contains both grams of "abcd" without containing it
+        assertThat(index.containing("abcd", ExamTrigramIndex.Field.SUBJECT)).isEmpty();
+        assertThat(index.containing("xbc", ExamTrigramIndex.Field.SUBJECT)).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should scan for short needles and union several fields")
+    void shortNeedlesAndFields() {
+        assertThat(index.containing("da", ExamTrigramIndex.Field.ACRONYM)).containsExactly(0, 1);
+        assertThat(index.containing("gcd", ExamTrigramIndex.Field.SUBJECT, ExamTrigramIndex.Field.ACRONYM,
+                ExamTrigramIndex.Field.DEGREE)).containsExactly(2, 3);
+        assertThat(index.containing("red", ExamTrigramIndex.Field.SUBJECT, ExamTrigramIndex.Field.ACRONYM))
+                .containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Should match word prefixes only where a word starts")
+    void startingWord() {
+        assertThat(index.startingWord("dat", ExamTrigramIndex.Field.SUBJECT)).containsExactly(0, 1);
+        assertThat(index.startingWord("atos", ExamTrigramIndex.Field.SUBJECT)).isEmpty();
+        assertThat(ExamTrigramIndex.startsWord("gestion de credit", "red")).isFalse();
+        assertThat(ExamTrigramIndex.startsWord("credit red", "red")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should merge ascending row lists without duplicates")
+    void union() {
+        assertThat(ExamTrigramIndex.union(new int[] { 0, 2, 5 }, new int[] { 1, 2, 6 })).containsExactly(0, 1, 2, 5, 6);
+        assertThat(ExamTrigramIndex.union(new int[0], new int[] { 3 })).containsExactly(3);
+    }
+
+    private static ExamTrigramIndex index(String[] subjects, String[] acronyms, String[] degrees) {
+        Map<ExamTrigramIndex.Field, String[]> columns = new EnumMap<>(ExamTrigramIndex.Field.class);
+        columns.put(ExamTrigramIndex.Field.SUBJECT, subjects);
+        columns.put(ExamTrigramIndex.Field.ACRONYM, acronyms);
+        columns.put(ExamTrigramIndex.Field.DEGREE, degrees);
+        columns.put(ExamTrigramIndex.Field.SUBJECT_STEM, new String[subjects.length]);
+        columns.put(ExamTrigramIndex.Field.DEGREE_STEM, new String[degrees.length]);
+        return new ExamTrigramIndex(columns);
+    }
+}
@@ -0,0 +1,28 @@
+package com.upv.examcalendar.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchKeys Tests")
+class SearchKeysTest {
+
+    @Test
+    @DisplayName("Should fold case, accents and whitespace")
+    void fold() {
+        assertThat(SearchKeys.fold("  Programación   Avanzada ")).isEqualTo("programacion avanzada");
+        assertThat(SearchKeys.fold("ÑANDÚ Über")).isEqualTo("nandu uber");
+        assertThat(SearchKeys.fold(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stem singular and plural forms to the same key")
+    void stem() {
+        assertThat(SearchKeys.stem("Exámenes")).isEqualTo(SearchKeys.stem("examen"));
+        assertThat(SearchKeys.stem("Redes de Computadores")).isEqualTo(SearchKeys.stem("red de computadora"));
+        assertThat(SearchKeys.stem("Matrices")).isEqualTo("matriz");
+        assertThat(SearchKeys.stem("Bases de Datos")).isEqualTo("bas de dat");
+        assertThat(SearchKeys.stemWord("red")).isEqualTo("red");
+    }
+}